@@ -0,0 +1,73 @@
+package com.ashfaq.example.templates;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.ashfaq.example.query.MangoEmploye;
+
+/**
+ * BeanPropertyRowMapper (new instance per call, as TemplateServices used it) against CompiledRowMapperFactory,
+ * same query over an in-memory H2 table, so the difference is the per-row mapping cost.
+ * 
+ * mvn -Pjmh test-compile exec:exec
+ * (exec:exec, not exec:java: the @Fork JVMs inherit the classpath of the JVM that starts them)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class RowMapperBenchmark {
+
+	private static final String QUERY = "SELECT id, name, department_id FROM mango_employees";
+
+	@Param({ "100", "10000" })
+	private int rows;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private CompiledRowMapperFactory factory;
+
+	@Setup
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:rowmapper" + rows + ";DB_CLOSE_DELAY=-1");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS mango_employees (id BIGINT PRIMARY KEY, name VARCHAR(255), department_id BIGINT)");
+		jdbcTemplate.execute("DELETE FROM mango_employees");
+		jdbcTemplate.update("INSERT INTO mango_employees SELECT x, 'employee ' || x, MOD(x, 50) FROM SYSTEM_RANGE(1, ?)", rows);
+		factory = new CompiledRowMapperFactory();
+	}
+
+	@Benchmark
+	public List<MangoEmploye> beanPropertyRowMapper() {
+		return jdbcTemplate.query(QUERY, new BeanPropertyRowMapper<>(MangoEmploye.class));
+	}
+
+	@Benchmark
+	public List<MangoEmploye> compiledRowMapper() {
+		return jdbcTemplate.query(QUERY, factory.rowMapper(MangoEmploye.class));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RowMapperBenchmark.class.getSimpleName()).build()).run();
+	}
+}
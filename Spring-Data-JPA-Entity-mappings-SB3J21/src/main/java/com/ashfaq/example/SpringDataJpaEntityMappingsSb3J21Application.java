@@ -1,30 +1,38 @@
 package com.ashfaq.example;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.ashfaq.example.faststart.FaststartApplicationStartup;
+import com.ashfaq.example.query.QueryRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @SpringBootApplication
+@EnableScheduling
 public class SpringDataJpaEntityMappingsSb3J21Application implements CommandLineRunner {
 
 
-	@Value("${mango.employee.query}")
-	private String prop;
+	@Autowired
+	private QueryRegistry queryRegistry;
 	
 	
 	@Override
 	public void run(String... args) throws Exception {
 		// TODO Auto-generated method stub
-		log.info("prop: " + prop);
+		log.info("prop: " + queryRegistry.jpql("mango.employee.query"));
 		
 	}
 	public static void main(String[] args) {
 		log.info("Spring Boot Application Started");
-		SpringApplication.run(SpringDataJpaEntityMappingsSb3J21Application.class, args);
+		SpringApplication application = new SpringApplication(SpringDataJpaEntityMappingsSb3J21Application.class);
+		// records the startup steps in the faststart profile, reported by StartupTimingReporter
+		application.addListeners(new FaststartApplicationStartup());
+		application.run(args);
 	}
 
 }
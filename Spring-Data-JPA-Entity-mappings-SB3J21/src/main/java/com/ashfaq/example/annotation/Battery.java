@@ -1,5 +1,8 @@
 package com.ashfaq.example.annotation;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -22,6 +25,7 @@ import lombok.ToString;
 @EqualsAndHashCode(of = "id")
 @Entity
 @Table(name = "battery")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 
 //@table annotation schema explained
 public class Battery {
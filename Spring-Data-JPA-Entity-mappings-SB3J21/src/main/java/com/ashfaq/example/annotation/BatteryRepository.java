@@ -1,7 +1,21 @@
 package com.ashfaq.example.annotation;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 public interface BatteryRepository extends JpaRepository<Battery, Long> {
-}
\ No newline at end of file
+
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<Battery> findAll();
+
+	// keyset chunk for ChunkedProcessor
+	List<Battery> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
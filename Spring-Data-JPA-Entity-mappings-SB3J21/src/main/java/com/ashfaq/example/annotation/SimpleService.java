@@ -1,19 +1,29 @@
 package com.ashfaq.example.annotation;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.ashfaq.example.chunk.ChunkedProcessor;
+
 @Service
 public class SimpleService {
 
+	private static final int CHUNK_SIZE = 500;
+
 	@Autowired
 	private BatteryRepository batteryRepository;
 
+	@Autowired
+	private ChunkedProcessor chunkedProcessor;
+
+	// was batteryRepository.findAll().stream().toList() - whole table in memory, twice
 	public void doSomething() {
-		List<Battery> list = batteryRepository.findAll().stream().toList();
-		list.forEach(System.out::println);
+		chunkedProcessor.process(
+				(afterId, limit) -> batteryRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? Long.MIN_VALUE : afterId, Limit.of(limit)),
+				Battery::getId,
+				CHUNK_SIZE,
+				chunk -> chunk.forEach(System.out::println));
 
 	}
 }
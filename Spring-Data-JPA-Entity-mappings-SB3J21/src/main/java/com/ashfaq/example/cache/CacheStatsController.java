@@ -0,0 +1,47 @@
+package com.ashfaq.example.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hit ratio per second level cache region.
+ * http://localhost:8080/cache/regions
+ */
+@RestController
+@RequestMapping("/cache")
+public class CacheStatsController {
+
+	public record RegionStats(String region, long hits, long misses, long puts, long elementsInMemory, double hitRatio) {
+	}
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@GetMapping("/regions")
+	public List<RegionStats> getRegionStats() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+				.map(region -> toStats(region, statistics.getCacheRegionStatistics(region)))
+				.toList();
+	}
+
+	private static RegionStats toStats(String region, CacheRegionStatistics stats) {
+		if (stats == null) {
+			return new RegionStats(region, 0, 0, 0, 0, 0);
+		}
+		long lookups = stats.getHitCount() + stats.getMissCount();
+		double hitRatio = lookups == 0 ? 0 : (double) stats.getHitCount() / lookups;
+		return new RegionStats(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+				stats.getElementCountInMemory(), hitRatio);
+	}
+}
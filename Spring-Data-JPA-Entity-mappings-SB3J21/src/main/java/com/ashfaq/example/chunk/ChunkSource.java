@@ -0,0 +1,14 @@
+package com.ashfaq.example.chunk;
+
+import java.util.List;
+
+/**
+ * Reads the next chunk of a table in id order: the rows with id greater than afterId (null for
+ * the first chunk), at most limit of them. Usually a repository method like
+ * findByIdGreaterThanOrderByIdAsc(Long id, Limit limit).
+ */
+@FunctionalInterface
+public interface ChunkSource<T, ID> {
+
+	List<T> next(ID afterId, int limit);
+}
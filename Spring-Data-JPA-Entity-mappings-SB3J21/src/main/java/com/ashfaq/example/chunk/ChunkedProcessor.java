@@ -0,0 +1,125 @@
+package com.ashfaq.example.chunk;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Walks a whole table in keyset chunks (WHERE id > :lastId ORDER BY id LIMIT n) instead of findAll().
+ * 
+ * Every chunk is read in its own read-only transaction and the persistence context is cleared after
+ * it, so memory stays at one chunk (or "parallelism" chunks in parallel mode) whatever the table size.
+ * Keyset reads cost the same for the last chunk as for the first, unlike OFFSET paging.
+ * 
+ * The chunk transactions are always new ones (REQUIRES_NEW) with their own persistence context: called
+ * from inside a transaction, the caller's transaction is suspended and its managed entities are not
+ * touched by the clear() after each chunk. Such a caller holds a second connection for the duration.
+ */
+@Slf4j
+@Component
+public class ChunkedProcessor {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final TransactionTemplate readOnlyTx;
+
+	public ChunkedProcessor(PlatformTransactionManager transactionManager) {
+		this.readOnlyTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx.setReadOnly(true);
+		this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * Sequential: the handler runs inside the chunk transaction, so lazy associations can still be
+	 * loaded. Returns the number of rows processed.
+	 */
+	public <T, ID> long process(ChunkSource<T, ID> source, Function<T, ID> idOf, int chunkSize, Consumer<List<T>> handler) {
+		long total = 0;
+		ID lastId = null;
+		while (true) {
+			ID afterId = lastId;
+			List<T> chunk = readOnlyTx.execute(status -> {
+				List<T> rows = source.next(afterId, chunkSize);
+				handler.accept(rows);
+				entityManager.clear();
+				return rows;
+			});
+			if (chunk == null || chunk.isEmpty()) {
+				break;
+			}
+			total += chunk.size();
+			lastId = idOf.apply(chunk.get(chunk.size() - 1));
+			if (chunk.size() < chunkSize) {
+				break;
+			}
+		}
+		log.info("processed {} rows in chunks of {}", total, chunkSize);
+		return total;
+	}
+
+	/**
+	 * Parallel: chunks are still read one after the other (each one starts after the last id of the
+	 * previous one) but handed to a pool of "parallelism" threads. At most "parallelism" chunks are in
+	 * flight, the reader waits when the workers fall behind. Handlers get detached entities.
+	 */
+	public <T, ID> long processParallel(ChunkSource<T, ID> source, Function<T, ID> idOf, int chunkSize, int parallelism,
+			Consumer<List<T>> handler) throws InterruptedException {
+		ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+		Semaphore inFlight = new Semaphore(parallelism);
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		long total = 0;
+		try {
+			ID lastId = null;
+			while (failure.get() == null) {
+				ID afterId = lastId;
+				List<T> chunk = readOnlyTx.execute(status -> {
+					List<T> rows = source.next(afterId, chunkSize);
+					entityManager.clear();
+					return rows;
+				});
+				if (chunk == null || chunk.isEmpty()) {
+					break;
+				}
+				total += chunk.size();
+				lastId = idOf.apply(chunk.get(chunk.size() - 1));
+
+				inFlight.acquire();
+				workers.execute(() -> {
+					try {
+						handler.accept(chunk);
+					} catch (RuntimeException e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						inFlight.release();
+					}
+				});
+				if (chunk.size() < chunkSize) {
+					break;
+				}
+			}
+		} finally {
+			workers.shutdown();
+			workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		log.info("processed {} rows in chunks of {} on {} threads", total, chunkSize, parallelism);
+		return total;
+	}
+}
@@ -1,6 +1,17 @@
 package com.ashfaq.example.config;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
 public interface AnimalRepository extends JpaRepository<Animal, Long> {
+
+	// result of the full list goes to the query cache, the rows themselves to the Animal region
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<Animal> findAll();
 }
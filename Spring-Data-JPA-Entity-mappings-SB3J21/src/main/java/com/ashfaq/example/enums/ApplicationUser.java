@@ -1,10 +1,16 @@
 package com.ashfaq.example.enums;
 
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -15,7 +21,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,7 +29,6 @@ import lombok.Setter;
 import lombok.ToString;
 
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Setter
 @Getter
@@ -42,12 +47,47 @@ public class ApplicationUser {
     @Column(nullable = false)
     private String password;
 
-    @ElementCollection(targetClass = Role.class, fetch = FetchType.EAGER)
+    // legacy mapping, kept while existing rows are migrated (see role-mask-migration.sql)
+    // no longer EAGER - authorization reads roleMask, this table is only touched when it is used explicitly
+    @ToString.Exclude
+    @ElementCollection(targetClass = Role.class, fetch = FetchType.LAZY)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "ApplicationUser_roles", joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"))
     @Column(name = "role")
     private Set<Role> roles;
 
+    // all roles in one int column, loaded with the user row itself
+    @Convert(converter = RoleSetConverter.class)
+    @ColumnDefault("0")
+    @Column(name = "role_mask", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Set<Role> roleMask = EnumSet.noneOf(Role.class);
+
+    public ApplicationUser(Long id, String username, String password, Set<Role> roles) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        setRoles(roles);
+    }
+
+    // during the migration both mappings are written, reads go to the mask
+    // setRoles is the only way to change roles, so the two can not drift apart
+    public void setRoles(Set<Role> roles) {
+        this.roles = roles == null ? null : new HashSet<>(roles);
+        this.roleMask = roles == null || roles.isEmpty() ? EnumSet.noneOf(Role.class) : EnumSet.copyOf(roles);
+    }
+
+    public Set<Role> getRoles() {
+        return roles == null ? null : Collections.unmodifiableSet(roles);
+    }
+
+    public Set<Role> getRoleMask() {
+        return Collections.unmodifiableSet(roleMask);
+    }
+
+    public boolean hasRole(Role role) {
+        return roleMask.contains(role);
+    }
    
 }
  
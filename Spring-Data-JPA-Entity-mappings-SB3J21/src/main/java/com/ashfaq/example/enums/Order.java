@@ -2,13 +2,14 @@ package com.ashfaq.example.enums;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Transient;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,6 @@ import lombok.ToString;
 
 
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Setter
 @Getter
@@ -25,6 +25,7 @@ import lombok.ToString;
 @EqualsAndHashCode(of = "id")
 @Entity
 @Table(name = "orders")
+@EntityListeners(OrderStatusListener.class)
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,5 +41,18 @@ public class Order {
     @Column(nullable = false)
     private double amount;
 
+    // status as it was loaded / last flushed, lets OrderStatusListener see the transition
+    @Transient
+    @ToString.Exclude
+    private OrderStatus loadedStatus;
+
+    // all persistent fields, loadedStatus is bookkeeping of the listener
+    public Order(Long id, String customerName, OrderStatus status, double amount) {
+        this.id = id;
+        this.customerName = customerName;
+        this.status = status;
+        this.amount = amount;
+    }
+
     
 }
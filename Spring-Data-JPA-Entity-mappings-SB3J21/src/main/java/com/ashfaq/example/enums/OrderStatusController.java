@@ -0,0 +1,22 @@
+package com.ashfaq.example.enums;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/orders")
+public class OrderStatusController {
+
+	@Autowired
+	private OrderStatusCounters orderStatusCounters;
+
+//	http://localhost:8080/orders/status-summary  -> {"NEW":1,"PROCESSING":1,"COMPLETED":1,"CANCELLED":0}, no query on orders
+	@GetMapping("/status-summary")
+	public Map<OrderStatus, Long> getStatusSummary() {
+		return orderStatusCounters.snapshot();
+	}
+}
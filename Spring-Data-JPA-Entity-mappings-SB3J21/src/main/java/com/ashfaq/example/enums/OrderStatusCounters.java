@@ -0,0 +1,97 @@
+package com.ashfaq.example.enums;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Number of orders per status, kept in memory so a status summary does not scan the orders table.
+ * 
+ * OrderStatusListener applies every insert / status change / delete after its transaction commits.
+ * Writes that bypass JPA (bulk JPQL, SQL scripts, other instances) are caught up by the periodic
+ * reconcile against a GROUP BY over the table.
+ * 
+ * The GROUP BY and the after-commit updates are not atomic: a transaction committing around the read
+ * shows up as drift for one run only. So after the initial load a drift is only corrected once it was
+ * seen on two consecutive runs, and only by the part both runs agree on.
+ */
+@Slf4j
+@Component
+public class OrderStatusCounters {
+
+	private final Map<OrderStatus, LongAdder> counters = new EnumMap<>(OrderStatus.class);
+	// drift seen by the previous reconcile, per status
+	private final Map<OrderStatus, Long> previousDrift = new EnumMap<>(OrderStatus.class);
+	private boolean loaded;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public OrderStatusCounters() {
+		for (OrderStatus status : OrderStatus.values()) {
+			counters.put(status, new LongAdder());
+		}
+	}
+
+	void increment(OrderStatus status) {
+		if (status != null) {
+			counters.get(status).increment();
+		}
+	}
+
+	void decrement(OrderStatus status) {
+		if (status != null) {
+			counters.get(status).decrement();
+		}
+	}
+
+	public Map<OrderStatus, Long> snapshot() {
+		Map<OrderStatus, Long> snapshot = new EnumMap<>(OrderStatus.class);
+		counters.forEach((status, counter) -> snapshot.put(status, counter.sum()));
+		return snapshot;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${order.status.reconcile-interval-ms:60000}", fixedDelayString = "${order.status.reconcile-interval-ms:60000}")
+	@Transactional(readOnly = true)
+	public synchronized void reconcile() {
+		List<Object[]> rows = entityManager
+				.createQuery("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status", Object[].class)
+				.getResultList();
+		Map<OrderStatus, Long> actual = new EnumMap<>(OrderStatus.class);
+		for (Object[] row : rows) {
+			actual.put((OrderStatus) row[0], (Long) row[1]);
+		}
+		for (OrderStatus status : OrderStatus.values()) {
+			long expected = actual.getOrDefault(status, 0L);
+			LongAdder counter = counters.get(status);
+			long drift = expected - counter.sum();
+			long correction = loaded ? confirmed(previousDrift.getOrDefault(status, 0L), drift) : drift;
+			previousDrift.put(status, drift - correction);
+			if (correction != 0) {
+				log.info("order status {} counter off by {}, corrected", status, correction);
+				counter.add(correction);
+			}
+		}
+		loaded = true;
+	}
+
+	// the part of the drift both runs saw: same direction, the smaller of the two
+	private static long confirmed(long previous, long current) {
+		if (previous == 0 || current == 0 || Long.signum(previous) != Long.signum(current)) {
+			return 0;
+		}
+		return Long.signum(current) * Math.min(Math.abs(previous), Math.abs(current));
+	}
+}
@@ -0,0 +1,65 @@
+package com.ashfaq.example.enums;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Keeps OrderStatusCounters in step with Order status transitions.
+ * Hibernate creates it through Spring (SpringBeanContainer), so the counters can be injected.
+ */
+public class OrderStatusListener {
+
+	@Autowired
+	private OrderStatusCounters counters;
+
+	@PostLoad
+	void remember(Order order) {
+		order.setLoadedStatus(order.getStatus());
+	}
+
+	@PostPersist
+	void created(Order order) {
+		OrderStatus status = order.getStatus();
+		afterCommit(() -> counters.increment(status));
+		order.setLoadedStatus(status);
+	}
+
+	@PostUpdate
+	void updated(Order order) {
+		OrderStatus from = order.getLoadedStatus();
+		OrderStatus to = order.getStatus();
+		if (from != to) {
+			afterCommit(() -> {
+				counters.decrement(from);
+				counters.increment(to);
+			});
+			order.setLoadedStatus(to);
+		}
+	}
+
+	@PostRemove
+	void removed(Order order) {
+		OrderStatus status = order.getLoadedStatus();
+		afterCommit(() -> counters.decrement(status));
+	}
+
+	// a rolled back transaction must not move the counters
+	private static void afterCommit(Runnable change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					change.run();
+				}
+			});
+		} else {
+			change.run();
+		}
+	}
+}
@@ -2,6 +2,17 @@ package com.ashfaq.example.enums;
 
 
 public enum Role {
-    USER,
-    ADMIN
+    USER(0),
+    ADMIN(1);
+
+    // bit position inside ApplicationUser.roleMask - fixed per role, never reuse or renumber a bit
+    private final int bit;
+
+    Role(int bit) {
+        this.bit = bit;
+    }
+
+    public int mask() {
+        return 1 << bit;
+    }
 }
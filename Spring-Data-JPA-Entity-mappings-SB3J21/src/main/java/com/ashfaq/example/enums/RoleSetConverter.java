@@ -0,0 +1,39 @@
+package com.ashfaq.example.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a set of roles as one int column, one bit per role (see Role.mask()).
+ * Reading it back needs no join and no second select, the set is an EnumSet (a single long inside).
+ */
+@Converter
+public class RoleSetConverter implements AttributeConverter<Set<Role>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Role> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (Role role : roles) {
+                mask |= role.mask();
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public Set<Role> convertToEntityAttribute(Integer mask) {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        if (mask != null) {
+            for (Role role : Role.values()) {
+                if ((mask & role.mask()) != 0) {
+                    roles.add(role);
+                }
+            }
+        }
+        return roles;
+    }
+}
@@ -2,8 +2,18 @@ package com.ashfaq.example.enums;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 public interface UserRepository extends JpaRepository<ApplicationUser, Long> {
 //    User findByUsername(String username);
+
+    // role check straight on the mask column, no entity and no collection is loaded
+    @Query(value = "SELECT COUNT(*) FROM data_schema.application_users WHERE id = :id AND (role_mask & :mask) <> 0", nativeQuery = true)
+    long countByIdAndRoleMask(@Param("id") Long id, @Param("mask") int mask);
+
+    default boolean hasRole(Long id, Role role) {
+        return countByIdAndRoleMask(id, role.mask()) > 0;
+    }
 }
@@ -0,0 +1,86 @@
+package com.ashfaq.example.faststart;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * faststart profile replacement for spring.sql.init.mode=always.
+ * 
+ * schema.sql and data.sql are idempotent, so running them on every start only costs time. Here a
+ * SHA-256 of both scripts is kept in the sql_init_checksum table and the scripts are only executed
+ * when it changed (new deployment with edited scripts, or an empty database).
+ * The entity manager factory waits for it, Hibernate validates the schema the scripts left behind.
+ */
+@Slf4j
+@Profile("faststart")
+@Component
+public class ChecksumSqlInitializer implements InitializingBean {
+
+	private static final List<String> SCRIPTS = List.of("classpath:schema.sql", "classpath:data.sql");
+
+	private final DataSource dataSource;
+	private final ResourceLoader resourceLoader;
+	private final JdbcTemplate jdbcTemplate;
+
+	public ChecksumSqlInitializer(DataSource dataSource, ResourceLoader resourceLoader) {
+		this.dataSource = dataSource;
+		this.resourceLoader = resourceLoader;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		long start = System.nanoTime();
+		List<Resource> scripts = SCRIPTS.stream().map(resourceLoader::getResource).filter(Resource::exists).toList();
+		String checksum = checksum(scripts);
+
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS sql_init_checksum (id INT PRIMARY KEY, checksum VARCHAR(64) NOT NULL)");
+		List<String> stored = jdbcTemplate.queryForList("SELECT checksum FROM sql_init_checksum WHERE id = 1", String.class);
+
+		if (!stored.isEmpty() && stored.get(0).equals(checksum)) {
+			log.info("sql init skipped, scripts unchanged ({}) - {} ms", checksum, (System.nanoTime() - start) / 1_000_000);
+			return;
+		}
+
+		new ResourceDatabasePopulator(scripts.toArray(Resource[]::new)).execute(dataSource);
+		if (stored.isEmpty()) {
+			jdbcTemplate.update("INSERT INTO sql_init_checksum (id, checksum) VALUES (1, ?)", checksum);
+		} else {
+			jdbcTemplate.update("UPDATE sql_init_checksum SET checksum = ? WHERE id = 1", checksum);
+		}
+		log.info("sql init executed {} scripts ({}) - {} ms", scripts.size(), checksum, (System.nanoTime() - start) / 1_000_000);
+	}
+
+	@Profile("faststart")
+	@Component
+	static class EntityManagerFactoryDependsOnSqlInit extends EntityManagerFactoryDependsOnPostProcessor {
+
+		EntityManagerFactoryDependsOnSqlInit() {
+			super(ChecksumSqlInitializer.class);
+		}
+	}
+
+	private static String checksum(List<Resource> scripts) throws IOException, NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		for (Resource script : scripts) {
+			digest.update(script.getContentAsByteArray());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+}
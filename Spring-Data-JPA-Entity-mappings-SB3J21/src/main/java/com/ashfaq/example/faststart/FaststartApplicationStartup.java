@@ -0,0 +1,23 @@
+package com.ashfaq.example.faststart;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Profiles;
+
+/**
+ * Buffers the startup steps for StartupTimingReporter, in the faststart profile only - other profiles
+ * keep the default no-op ApplicationStartup. Registered on the SpringApplication in the main class,
+ * it runs once the profiles are known and before the application context is created.
+ */
+public class FaststartApplicationStartup implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+	private static final int CAPACITY = 4096;
+
+	@Override
+	public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+		if (event.getEnvironment().acceptsProfiles(Profiles.of("faststart"))) {
+			event.getSpringApplication().setApplicationStartup(new BufferingApplicationStartup(CAPACITY));
+		}
+	}
+}
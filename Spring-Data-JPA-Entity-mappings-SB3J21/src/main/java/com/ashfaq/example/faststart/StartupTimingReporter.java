@@ -0,0 +1,66 @@
+package com.ashfaq.example.faststart;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs where the startup time went once the application is ready: total per startup phase and the
+ * slowest bean instantiations. Needs the BufferingApplicationStartup set by FaststartApplicationStartup.
+ */
+@Slf4j
+@Profile("faststart")
+@Component
+public class StartupTimingReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final int TOP = 10;
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+		if (!(startup instanceof BufferingApplicationStartup buffering)) {
+			log.info("startup timings not available, application started in {} ms", event.getTimeTaken().toMillis());
+			return;
+		}
+
+		var events = buffering.getBufferedTimeline().getEvents();
+
+		Map<String, Duration> phases = events.stream()
+				.filter(e -> !"spring.beans.instantiate".equals(e.getStartupStep().getName()))
+				.collect(Collectors.toMap(e -> e.getStartupStep().getName(), TimelineEvent::getDuration, Duration::plus));
+
+		log.info("application ready in {} ms, slowest startup phases:", event.getTimeTaken().toMillis());
+		phases.entrySet().stream()
+				.sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+				.limit(TOP)
+				.forEach(e -> log.info("  {} ms  {}", e.getValue().toMillis(), e.getKey()));
+
+		log.info("slowest bean instantiations:");
+		events.stream()
+				.filter(e -> "spring.beans.instantiate".equals(e.getStartupStep().getName()))
+				.sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+				.limit(TOP)
+				.forEach(e -> log.info("  {} ms  {}", e.getDuration().toMillis(), beanName(e.getStartupStep())));
+	}
+
+	private static String beanName(StartupStep step) {
+		for (StartupStep.Tag tag : step.getTags()) {
+			if ("beanName".equals(tag.getKey())) {
+				return tag.getValue();
+			}
+		}
+		return step.getName();
+	}
+}
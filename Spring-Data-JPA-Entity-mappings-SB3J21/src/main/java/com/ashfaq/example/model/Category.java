@@ -2,6 +2,9 @@ package com.ashfaq.example.model;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -10,18 +13,17 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@EqualsAndHashCode(of = { "cId" })
 @AllArgsConstructor
 @NoArgsConstructor
 @Setter
 @Getter
 @Entity
 @Table(name = "jpa_Category")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Category {
 
 	@Id
@@ -32,4 +34,23 @@ public class Category {
 	@ManyToMany(cascade = CascadeType.ALL,mappedBy = "categorys")
 	List<Product> products;
 
+	// Product.categorys is a Set: the id is only a usable key once the category is persisted (IDENTITY), so
+	// new categories must not collapse into one element and the hash must not change when the id is assigned.
+	// Equal when both have the same id (getCId also works on an uninitialized getReference proxy), one constant hash
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Category other)) {
+			return false;
+		}
+		return getCId() != null && getCId().equals(other.getCId());
+	}
+
+	@Override
+	public int hashCode() {
+		return Category.class.hashCode();
+	}
+
 } 
@@ -1,6 +1,9 @@
 package com.ashfaq.example.model;
 
-import java.util.List;
+import java.util.Set;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
@@ -30,6 +33,10 @@ public class Product {
 	private String productName;
 	
 	
+	// Set instead of List: a List without @OrderColumn is a bag, and Hibernate rewrites a changed bag
+	// by deleting every join row of the product and inserting them all again. A Set is diffed, only
+	// the links that were really added or removed become an INSERT / DELETE (see ProductCategoryService)
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 	@ManyToMany(cascade = CascadeType.ALL)
-	List<Category> categorys;
+	Set<Category> categorys;
 }
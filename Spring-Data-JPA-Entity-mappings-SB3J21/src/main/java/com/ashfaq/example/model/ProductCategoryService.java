@@ -0,0 +1,63 @@
+package com.ashfaq.example.model;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Catalog sync of product to category links.
+ * 
+ * The wanted category ids are compared with the current links and only the difference is applied to
+ * the Set, so Hibernate flushes one join table DELETE per removed link and one INSERT per added link
+ * (batched through hibernate.jdbc.batch_size) instead of rewriting all links of the product.
+ * Categories are attached with getReference, no SELECT per category.
+ */
+@Slf4j
+@Service
+public class ProductCategoryService {
+
+	public record SyncResult(int added, int removed, int unchanged) {
+	}
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Transactional
+	public SyncResult syncCategories(Long productId, Set<Long> categoryIds) {
+		Product product = productRepository.findWithCategorys(productId)
+				.orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
+		if (product.getCategorys() == null) {
+			product.setCategorys(new HashSet<>());
+		}
+
+		Set<Long> current = product.getCategorys().stream().map(Category::getCId).collect(Collectors.toSet());
+
+		int before = current.size();
+		product.getCategorys().removeIf(category -> !categoryIds.contains(category.getCId()));
+		int removed = before - product.getCategorys().size();
+
+		int added = 0;
+		for (Long categoryId : categoryIds) {
+			if (!current.contains(categoryId)) {
+				product.getCategorys().add(entityManager.getReference(Category.class, categoryId));
+				added++;
+			}
+		}
+
+		SyncResult result = new SyncResult(added, removed, product.getCategorys().size() - added);
+		log.info("product {} category sync: {}", productId, result);
+		return result;
+	}
+}
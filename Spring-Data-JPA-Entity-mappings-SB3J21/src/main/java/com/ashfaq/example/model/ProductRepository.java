@@ -0,0 +1,13 @@
+package com.ashfaq.example.model;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.categorys WHERE p.pId = :pId")
+	Optional<Product> findWithCategorys(@Param("pId") Long pId);
+}
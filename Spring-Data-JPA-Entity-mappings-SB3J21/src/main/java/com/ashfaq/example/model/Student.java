@@ -7,6 +7,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -23,8 +26,18 @@ import lombok.Setter;
 @Getter
 @Entity
 @Table(name = "jpa_Student")
+//fetch plans, see StudentFetchPlan / StudentRepository - the laptop graphs load students and associations in one query, Student.address still selects each laptop
+@NamedEntityGraphs({
+		@NamedEntityGraph(name = Student.GRAPH_LAPTOP, attributeNodes = @NamedAttributeNode("laptop")),
+		@NamedEntityGraph(name = Student.GRAPH_ADDRESS, attributeNodes = @NamedAttributeNode("address")),
+		@NamedEntityGraph(name = Student.GRAPH_LAPTOP_ADDRESS, attributeNodes = { @NamedAttributeNode("laptop"),
+				@NamedAttributeNode("address") }) })
 public class Student {
 
+	public static final String GRAPH_LAPTOP = "Student.laptop";
+	public static final String GRAPH_ADDRESS = "Student.address";
+	public static final String GRAPH_LAPTOP_ADDRESS = "Student.laptopAndAddress";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
@@ -0,0 +1,24 @@
+package com.ashfaq.example.model;
+
+/**
+ * What to load together with a list of students.
+ * 
+ * Without a plan, listing N students runs 1 query for the students, then one per student for the
+ * laptop (the mappedBy side of a one-to-one is always fetched) and one per student for the
+ * addresses once they are touched: 2N + 1 statements. LAPTOP and LAPTOP_AND_ADDRESS are a single
+ * statement. ADDRESS is not: the mappedBy laptop cannot be proxied, so it is still selected per student.
+ */
+public enum StudentFetchPlan {
+
+	/** student rows + laptop, for list screens that show the laptop only */
+	LAPTOP,
+
+	/**
+	 * student rows + addresses. Not a single statement: the laptop is still loaded per student, so this
+	 * costs 1 + N. Use LAPTOP_AND_ADDRESS when that matters.
+	 */
+	ADDRESS,
+
+	/** student rows + laptop + addresses, for detail/export views */
+	LAPTOP_AND_ADDRESS
+}
@@ -0,0 +1,30 @@
+package com.ashfaq.example.model;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface StudentRepository extends JpaRepository<Student, Long> {
+
+	@EntityGraph(Student.GRAPH_LAPTOP)
+	@Query("SELECT s FROM Student s")
+	List<Student> findAllWithLaptop();
+
+	@EntityGraph(Student.GRAPH_ADDRESS)
+	@Query("SELECT s FROM Student s")
+	List<Student> findAllWithAddress();
+
+	@EntityGraph(Student.GRAPH_LAPTOP_ADDRESS)
+	@Query("SELECT s FROM Student s")
+	List<Student> findAllWithLaptopAndAddress();
+
+	default List<Student> findAll(StudentFetchPlan plan) {
+		return switch (plan) {
+		case LAPTOP -> findAllWithLaptop();
+		case ADDRESS -> findAllWithAddress();
+		case LAPTOP_AND_ADDRESS -> findAllWithLaptopAndAddress();
+		};
+	}
+}
@@ -2,6 +2,8 @@ package com.ashfaq.example.model.jointable.otm;
 
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -29,7 +31,10 @@ public class Department {
     private Long id;
     private String name;
 
+    // initialized for up to 50 departments per select (IN (...)):
+    // iterating 100 departments runs 2 selects on department_employee instead of 100
     @OneToMany
+    @BatchSize(size = 50)
     @JoinTable(
             name = "department_employee",
             joinColumns = @JoinColumn(name = "department_id"),
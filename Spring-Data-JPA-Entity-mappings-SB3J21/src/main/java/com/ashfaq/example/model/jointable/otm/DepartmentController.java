@@ -0,0 +1,29 @@
+package com.ashfaq.example.model.jointable.otm;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/departments")
+public class DepartmentController {
+
+	@Autowired
+	private DepartmentRepository departmentRepository;
+
+//	http://localhost:8080/departments/headcounts?page=0&size=100&sort=name
+	@GetMapping("/headcounts")
+	public Page<DepartmentHeadcount> getHeadcounts(Pageable pageable) {
+		return departmentRepository.findHeadcounts(pageable);
+	}
+
+//	http://localhost:8080/departments/1/employees?page=0&size=20
+	@GetMapping("/{id}/employees")
+	public Page<Employee> getEmployees(@PathVariable Long id, Pageable pageable) {
+		return departmentRepository.findEmployees(id, pageable);
+	}
+}
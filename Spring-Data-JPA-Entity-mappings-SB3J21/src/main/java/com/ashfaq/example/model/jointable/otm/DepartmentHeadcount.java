@@ -0,0 +1,6 @@
+package com.ashfaq.example.model.jointable.otm;
+
+// org chart row: the department and how many employees it has, computed by the database (GROUP BY)
+// instead of initializing Department.employees just to call size()
+public record DepartmentHeadcount(Long id, String name, long headcount) {
+}
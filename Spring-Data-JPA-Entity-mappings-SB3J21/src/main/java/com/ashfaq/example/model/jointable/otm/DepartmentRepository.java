@@ -0,0 +1,23 @@
+package com.ashfaq.example.model.jointable.otm;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+	@Query(value = """
+			SELECT new com.ashfaq.example.model.jointable.otm.DepartmentHeadcount(d.id, d.name, COUNT(e))
+			FROM Department d LEFT JOIN d.employees e
+			GROUP BY d.id, d.name
+			""",
+			countQuery = "SELECT COUNT(d) FROM Department d")
+	Page<DepartmentHeadcount> findHeadcounts(Pageable pageable);
+
+	// one page of a department's employees straight from the join table, the collection is never loaded
+	@Query(value = "SELECT e FROM Department d JOIN d.employees e WHERE d.id = :departmentId",
+			countQuery = "SELECT COUNT(e) FROM Department d JOIN d.employees e WHERE d.id = :departmentId")
+	Page<Employee> findEmployees(@Param("departmentId") Long departmentId, Pageable pageable);
+}
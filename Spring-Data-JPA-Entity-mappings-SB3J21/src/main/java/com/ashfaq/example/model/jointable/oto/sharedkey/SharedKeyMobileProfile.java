@@ -0,0 +1,38 @@
+package com.ashfaq.example.model.jointable.oto.sharedkey;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//id = id of the user (no own sequence, no extra FK column), the user can always be a proxy:
+//its id is known from the profile row itself
+
+@EqualsAndHashCode(of = { "id" })
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@Entity
+@Table(name = "jpa_sk_MobileProfile")
+public class SharedKeyMobileProfile {
+
+	@Id
+	private Long id;
+	private String address;
+	private String phoneNumber;
+
+	@OneToOne(fetch = FetchType.LAZY)
+	@MapsId
+	@JoinColumn(name = "user_id")
+	private SharedKeyMobileUser user;
+
+}
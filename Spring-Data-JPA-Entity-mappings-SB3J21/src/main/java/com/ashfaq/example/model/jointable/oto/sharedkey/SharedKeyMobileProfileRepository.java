@@ -0,0 +1,6 @@
+package com.ashfaq.example.model.jointable.oto.sharedkey;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SharedKeyMobileProfileRepository extends JpaRepository<SharedKeyMobileProfile, Long> {
+}
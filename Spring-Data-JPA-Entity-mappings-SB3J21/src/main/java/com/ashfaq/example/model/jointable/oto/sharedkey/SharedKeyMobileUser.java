@@ -0,0 +1,45 @@
+package com.ashfaq.example.model.jointable.oto.sharedkey;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//Shared primary key variant of MobileUser/MobileProfile - the profile row uses the user id as its own id (@MapsId)
+//the mappedBy side can only be LAZY with bytecode enhancement (hibernate-enhance-maven-plugin in the pom),
+//without it Hibernate has to query jpa_sk_MobileProfile to know if the user has a profile at all
+
+@EqualsAndHashCode(of = { "id" })
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@Entity
+@Table(name = "jpa_sk_MobileUser")
+public class SharedKeyMobileUser {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	private String username;
+	private String password;
+
+	@OneToOne(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+	private SharedKeyMobileProfile profile;
+
+	public void setProfile(SharedKeyMobileProfile profile) {
+		this.profile = profile;
+		if (profile != null) {
+			profile.setUser(this);
+		}
+	}
+}
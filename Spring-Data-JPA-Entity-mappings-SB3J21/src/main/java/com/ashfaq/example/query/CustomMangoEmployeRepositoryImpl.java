@@ -2,7 +2,8 @@ package com.ashfaq.example.query;
 
 import java.util.List;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.EntityManager;
@@ -15,11 +16,11 @@ public class CustomMangoEmployeRepositoryImpl  {
     @PersistenceContext
     private EntityManager entityManager;
 
-    @Value("${mango.employee.query}")
-    private String query;
+    @Autowired
+    private QueryRegistry queryRegistry;
 	
 	    public List<MangoEmploye> findByDepartmentIdAndEmployeeIdsAndNamesByEntityManager(Long departmentId, List<Long> employeeIds, List<String> names) {
-	        return entityManager.createQuery(query)
+	        return entityManager.createQuery(queryRegistry.jpql("mango.employee.query"))
 	        		 .setParameter("departmentId", departmentId)
 	                 .setParameter("employeeIds", employeeIds)
 	                 .setParameter("names", names)
@@ -96,7 +97,7 @@ note directly assign to List<MangoEmploye> and return it  or return it directly
 	
 	        int firstResult = pageNumber * pageSize;
 	        
-	    	List<MangoEmploye> resultList = entityManager.createQuery(query, MangoEmploye.class).
+	    	List<MangoEmploye> resultList = entityManager.createQuery(queryRegistry.jpql("mango.employee.query"), MangoEmploye.class).
 	        // Set parameters
 	        setParameter("departmentId", departmentId).
 	        setParameter("employeeIds", employeeIds).
@@ -107,6 +108,55 @@ note directly assign to List<MangoEmploye> and return it  or return it directly
 	        
 	        return resultList;
 	    }  	
+	    
+	    
+	    
+	    //Keyset (seek) pagination - no COUNT query and no OFFSET, page N costs the same as page 1
+	    //rows are ordered by (departmentId, id), employees without a department last, and the next page starts right after the last pair seen
+	    //fetches size + 1 rows, the extra row only tells us if there is a next page
+	    
+	    public Window<MangoEmploye> findByKeyset(Long departmentId, List<Long> employeeIds, List<String> names, MangoEmployeCursor after, int size) {
+	    	
+	    	StringBuilder jpql = new StringBuilder("SELECT e FROM MangoEmploye e WHERE 1 = 1");
+	    	if (departmentId != null) {
+	    		jpql.append(" AND e.departmentId = :departmentId");
+	    	}
+	    	if (employeeIds != null && !employeeIds.isEmpty()) {
+	    		jpql.append(" AND e.id IN :employeeIds");
+	    	}
+	    	if (names != null && !names.isEmpty()) {
+	    		jpql.append(" AND e.name IN :names");
+	    	}
+	    	if (after != null && after.departmentId() != null) {
+	    		jpql.append(" AND (e.departmentId > :lastDepartmentId OR (e.departmentId = :lastDepartmentId AND e.id > :lastId) OR e.departmentId IS NULL)");
+	    	} else if (after != null) {
+	    		jpql.append(" AND e.departmentId IS NULL AND e.id > :lastId");
+	    	}
+	    	jpql.append(" ORDER BY e.departmentId ASC NULLS LAST, e.id");
+	    	
+	    	TypedQuery<MangoEmploye> typedQuery = entityManager.createQuery(jpql.toString(), MangoEmploye.class);
+	    	if (departmentId != null) {
+	    		typedQuery.setParameter("departmentId", departmentId);
+	    	}
+	    	if (employeeIds != null && !employeeIds.isEmpty()) {
+	    		typedQuery.setParameter("employeeIds", employeeIds);
+	    	}
+	    	if (names != null && !names.isEmpty()) {
+	    		typedQuery.setParameter("names", names);
+	    	}
+	    	if (after != null) {
+	    		if (after.departmentId() != null) {
+	    			typedQuery.setParameter("lastDepartmentId", after.departmentId());
+	    		}
+	    		typedQuery.setParameter("lastId", after.id());
+	    	}
+	    	
+	    	List<MangoEmploye> rows = typedQuery.setMaxResults(size + 1).getResultList();
+	    	boolean hasNext = rows.size() > size;
+	    	List<MangoEmploye> content = hasNext ? rows.subList(0, size) : rows;
+	    	
+	    	return Window.from(content, i -> MangoEmployeCursor.of(content.get(i)).toScrollPosition(), hasNext);
+	    }
     
     
 }
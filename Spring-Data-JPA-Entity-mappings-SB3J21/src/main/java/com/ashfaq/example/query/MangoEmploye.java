@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -19,7 +20,7 @@ import lombok.ToString;
 @ToString
 @EqualsAndHashCode(of = "id")
 @Entity
-@Table(name = "mango_employees")
+@Table(name = "mango_employees", indexes = @Index(name = "idx_mango_employees_dept_id", columnList = "department_id, id"))
 public class MangoEmploye {
 
 
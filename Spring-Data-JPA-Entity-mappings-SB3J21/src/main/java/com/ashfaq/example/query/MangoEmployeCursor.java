@@ -0,0 +1,50 @@
+package com.ashfaq.example.query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Opaque continuation token for the keyset (seek) search.
+ * 
+ * It carries the last seen (departmentId, id) pair so the next page can be fetched with
+ * "WHERE (department_id, id) > (?, ?)" instead of OFFSET, and without a COUNT query.
+ * departmentId is null once the feed has reached the employees without a department (they come last).
+ * The client should treat the token as a black box and simply send it back.
+ */
+public record MangoEmployeCursor(Long departmentId, Long id) {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	public String encode() {
+		String raw = (departmentId == null ? "" : departmentId.toString()) + ":" + id;
+		return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static MangoEmployeCursor decode(String token) {
+		try {
+			String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+			int sep = raw.indexOf(':');
+			String department = raw.substring(0, sep);
+			return new MangoEmployeCursor(department.isEmpty() ? null : Long.valueOf(department), Long.valueOf(raw.substring(sep + 1)));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + token, e);
+		}
+	}
+
+	public static MangoEmployeCursor of(MangoEmploye employee) {
+		return new MangoEmployeCursor(employee.getDepartmentId(), employee.getId());
+	}
+
+	public KeysetScrollPosition toScrollPosition() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("departmentId", departmentId);
+		keys.put("id", id);
+		return ScrollPosition.forward(keys);
+	}
+}
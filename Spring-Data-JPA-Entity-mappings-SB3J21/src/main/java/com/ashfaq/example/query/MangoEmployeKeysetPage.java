@@ -0,0 +1,11 @@
+package com.ashfaq.example.query;
+
+import java.util.List;
+
+/**
+ * Response of the keyset search endpoint. There is no totalElements/totalPages on purpose,
+ * computing them is exactly the COUNT(*) this endpoint avoids.
+ * nextCursor is null when there is nothing more to read.
+ */
+public record MangoEmployeKeysetPage(List<MangoEmploye> content, String nextCursor, boolean hasNext) {
+}
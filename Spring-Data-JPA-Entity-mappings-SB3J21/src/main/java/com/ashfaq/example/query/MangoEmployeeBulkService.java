@@ -0,0 +1,74 @@
+package com.ashfaq.example.query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk ingest for mango_employees.
+ * 
+ * saveAll() cannot batch here: MangoEmploye uses GenerationType.IDENTITY, so Hibernate has to run
+ * every INSERT on its own to read back the generated id. This path skips the persistence context and
+ * goes straight to JDBC batch inserts; with rewriteBatchedStatements=true on the MySQL URL the driver
+ * turns each batch into a single multi-row INSERT. The database still assigns the ids.
+ * 
+ * The request body is read element by element with a Jackson streaming parser, so only one chunk
+ * of employees is ever held in memory no matter how big the payload is.
+ */
+@Slf4j
+@Service
+public class MangoEmployeeBulkService {
+
+	private static final String INSERT_SQL = "INSERT INTO mango_employees (name, department_id) VALUES (?, ?)";
+
+	private static final int CHUNK_SIZE = 1000;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Transactional
+	public long ingest(InputStream body) throws IOException {
+		long total = 0;
+		List<MangoEmploye> chunk = new ArrayList<>(CHUNK_SIZE);
+		try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IllegalArgumentException("Expected a JSON array of employees");
+			}
+			while (parser.nextToken() == JsonToken.START_OBJECT) {
+				chunk.add(objectMapper.readValue(parser, MangoEmploye.class));
+				if (chunk.size() == CHUNK_SIZE) {
+					total += insert(chunk);
+					chunk.clear();
+				}
+			}
+		}
+		if (!chunk.isEmpty()) {
+			total += insert(chunk);
+		}
+		log.info("bulk ingest inserted {} mango employees", total);
+		return total;
+	}
+
+	private int insert(List<MangoEmploye> chunk) {
+		jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, employee) -> {
+			ps.setString(1, employee.getName());
+			ps.setObject(2, employee.getDepartmentId());
+		});
+		return chunk.size();
+	}
+}
@@ -1,16 +1,23 @@
 package com.ashfaq.example.query;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/mango-employees")
@@ -24,11 +31,26 @@ public class MangoEmployeeController {
 	 
 	 @Autowired
 	    private CustomMangoEmployeRepositoryImpl  customMangoEmployeRepositoryImpl;
+	 
+	 
+	 @Autowired
+	    private MangoEmployeeBulkService  mangoEmployeeBulkService;
 
 	    @GetMapping
 	    public List<MangoEmploye> getAllEmployees() {
 	        return memployeeService.getAllEmployees();
 	    }
+	    
+	    
+//	    Full table export without loading it into memory, newline delimited JSON
+//	    http://localhost:8080/mango-employees/export
+	    @GetMapping(value = "/export", produces = "application/x-ndjson")
+	    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+	        StreamingResponseBody body = memployeeService::exportEmployees;
+	        return ResponseEntity.ok()
+	        		.contentType(MediaType.parseMediaType("application/x-ndjson"))
+	        		.body(body);
+	    }
 
 	    
 	    
@@ -136,10 +158,48 @@ public class MangoEmployeeController {
 	    
 	    
 	    
+//	    Keyset pagination, no COUNT(*) and no OFFSET. Pass back nextCursor from the previous response to get the next page
+//	    http://localhost:8080/mango-employees/searchv5?departmentId=1&size=3
+//	    http://localhost:8080/mango-employees/searchv5?departmentId=1&size=3&cursor=MToz
+	    
+	    private static final int KEYSET_MAX_SIZE = 500;
+	    
+	    @GetMapping("/searchv5")
+	    public MangoEmployeKeysetPage searchEmployeesKeyset(
+	        @RequestParam(required = false) Long departmentId,
+	        @RequestParam(required = false) List<Long> employeeIds,
+	        @RequestParam(required = false) List<String> names,
+	        @RequestParam(required = false) String cursor,
+	        @RequestParam(defaultValue = "20") int size
+	    ) {
+	    	if (size < 1 || size > KEYSET_MAX_SIZE) {
+	    		throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + KEYSET_MAX_SIZE);
+	    	}
+	    	MangoEmployeCursor after = null;
+	    	if (cursor != null && !cursor.isBlank()) {
+	    		try {
+	    			after = MangoEmployeCursor.decode(cursor);
+	    		} catch (IllegalArgumentException e) {
+	    			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+	    		}
+	    	}
+	        return memployeeService.getEmployeesKeyset(departmentId, employeeIds, names, after, size);
+	    } 
+	    
+	    
+	    
 	    @PostMapping("/add")
 	    public void addEmployees(@RequestBody List<MangoEmploye> employees) {
 	    	memployeeService.saveEmployees(employees);
 	    }
+	    
+	    
+//	    Bulk load, same JSON array as /add but parsed as a stream and inserted with JDBC batches
+//	    curl -X POST -H "Content-Type: application/json" --data-binary @employees.json http://localhost:8080/mango-employees/bulk
+	    @PostMapping("/bulk")
+	    public long bulkAddEmployees(InputStream body) throws IOException {
+	    	return mangoEmployeeBulkService.ingest(body);
+	    }
 
 }
 
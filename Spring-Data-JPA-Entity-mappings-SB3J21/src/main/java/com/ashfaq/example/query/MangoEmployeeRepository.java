@@ -1,6 +1,9 @@
 package com.ashfaq.example.query;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,11 +12,27 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 public interface MangoEmployeeRepository extends JpaRepository<MangoEmploye	, Long> {
 
 
+//	Streaming export - rows are pulled through a database cursor instead of a List of the whole table
+//	Integer.MIN_VALUE is the MySQL Connector/J switch for a row-by-row streaming result set
+//	caller must consume it inside a transaction and close the Stream (try-with-resources)
+	 @QueryHints({
+		 @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+		 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	 })
+	 @Query("SELECT e FROM MangoEmploye e")
+	 Stream<MangoEmploye> streamAll();
+	 
+	 
+
+
 //	1  hard coded query
 	 @Query("""
 			SELECT e FROM MangoEmploye e WHERE e.departmentId = :departmentId AND e.id IN :employeeIds AND e.name IN :names
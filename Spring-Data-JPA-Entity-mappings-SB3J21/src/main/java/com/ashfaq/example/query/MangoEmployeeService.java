@@ -1,16 +1,38 @@
 package com.ashfaq.example.query;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class MangoEmployeeService {
 	
 	 @Autowired
 	    private MangoEmployeeRepository employeeRepository;
+	 
+	 @Autowired
+	    private CustomMangoEmployeRepositoryImpl customMangoEmployeRepositoryImpl;
+	 
+	 @Autowired
+	    private ObjectMapper objectMapper;
+	 
+	 @PersistenceContext
+	    private EntityManager entityManager;
 
 	 
 	 //simple query
@@ -40,6 +62,42 @@ public class MangoEmployeeService {
 	    
 	    
 	    
+//	    Keyset pagination (count free)
+	    
+	    public MangoEmployeKeysetPage getEmployeesKeyset(Long departmentId, List<Long> employeeIds, List<String> names, MangoEmployeCursor after, int size) {
+	    	Window<MangoEmploye> window = customMangoEmployeRepositoryImpl.findByKeyset(departmentId, employeeIds, names, after, size);
+	    	String nextCursor = window.hasNext() ? MangoEmployeCursor.of(window.getContent().get(window.size() - 1)).encode() : null;
+	    	return new MangoEmployeKeysetPage(window.getContent(), nextCursor, window.hasNext());
+	    }
+	    
+	    
+	    
+//	    Streaming export as NDJSON (one JSON object per line)
+//	    rows come through a cursor, are written and then detached, so neither the List nor the persistence context grows with the table
+	    
+	    private static final int EXPORT_FLUSH_EVERY = 500;
+	    
+	    @Transactional(readOnly = true)
+	    public void exportEmployees(OutputStream out) throws IOException {
+	    	ObjectWriter writer = objectMapper.writerFor(MangoEmploye.class);
+	    	BufferedOutputStream buffered = new BufferedOutputStream(out, 8 * 1024);
+	    	long count = 0;
+	    	try (Stream<MangoEmploye> rows = employeeRepository.streamAll()) {
+	    		for (MangoEmploye employee : (Iterable<MangoEmploye>) rows::iterator) {
+	    			buffered.write(writer.writeValueAsBytes(employee));
+	    			buffered.write('\n');
+	    			entityManager.detach(employee);
+	    			//first row goes out right away, after that the buffer is flushed in batches
+	    			if (++count == 1 || count % EXPORT_FLUSH_EVERY == 0) {
+	    				buffered.flush();
+	    			}
+	    		}
+	    	}
+	    	buffered.flush();
+	    }
+	    
+	    
+	    
 	    public List<MangoEmploye> getAllEmployees() {
 	        return employeeRepository.findAll();
 	    }
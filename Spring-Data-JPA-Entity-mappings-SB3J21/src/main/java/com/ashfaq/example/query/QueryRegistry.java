@@ -0,0 +1,204 @@
+package com.ashfaq.example.query;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads every externalized query from MangoEmpqueries.properties once, at startup, and validates it
+ * there instead of on the first request that happens to use it.
+ * 
+ * Keys ending in "sql" are native SQL for NamedParameterJdbcTemplate, everything else is JPQL.
+ * JPQL is checked by asking Hibernate to build the query, which resolves every entity and attribute
+ * against the metamodel and leaves the parsed form in Hibernate's query plan cache, so the real call
+ * does not pay for parsing again. Native SQL is checked by the database: the named parameters are
+ * replaced by NULL placeholders and the statement is run through EXPLAIN, so syntax errors and unknown
+ * tables / columns fail here and nothing is executed.
+ * 
+ * A typo in any query fails the startup. When the file (query.registry.location) changes it is reloaded and
+ * re-validated without a restart; if the new version is broken the old queries are kept and the
+ * error is logged. Only a file on disk can be watched - the default classpath location is a file when
+ * running from target/classes, inside a packaged jar point query.registry.location at a file:... path.
+ * Parse time and usage counts are kept per query (GET /queries).
+ */
+@Slf4j
+@Component
+public class QueryRegistry {
+
+	public enum Kind {
+		JPQL, SQL
+	}
+
+	public record QueryEntry(String key, Kind kind, String text, long parseMicros, @JsonIgnore LongAdder usages) {
+
+		public long getUsageCount() {
+			return usages.sum();
+		}
+	}
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${query.registry.location:classpath:MangoEmpqueries.properties}")
+	private Resource queriesResource;
+
+	@Value("${query.registry.reload-interval-ms:5000}")
+	private long reloadIntervalMs;
+
+	private volatile Map<String, QueryEntry> entries = Map.of();
+	private volatile long lastModified;
+	private ScheduledExecutorService watcher;
+
+	@PostConstruct
+	void init() throws IOException {
+		entries = load();
+		lastModified = lastModified();
+		log.info("query registry loaded {} queries", entries.size());
+
+		if (reloadIntervalMs > 0 && queriesResource.isFile()) {
+			watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "query-registry-watcher");
+				t.setDaemon(true);
+				return t;
+			});
+			watcher.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+		} else if (reloadIntervalMs > 0) {
+			log.info("query registry {} is not a file on disk, hot reload is off", queriesResource);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		if (watcher != null) {
+			watcher.shutdownNow();
+		}
+	}
+
+	/** JPQL text for the key, already validated against the metamodel. */
+	public String jpql(String key) {
+		return use(key, Kind.JPQL).text();
+	}
+
+	/** Native SQL text for the key, already checked by the database. */
+	public String sql(String key) {
+		return use(key, Kind.SQL).text();
+	}
+
+	public Collection<QueryEntry> entries() {
+		return entries.values();
+	}
+
+	public synchronized int reload() throws IOException {
+		Map<String, QueryEntry> reloaded = load();
+		// keep the counters of queries that survived the reload
+		reloaded.replaceAll((key, entry) -> {
+			QueryEntry previous = entries.get(key);
+			return previous == null ? entry
+					: new QueryEntry(key, entry.kind(), entry.text(), entry.parseMicros(), previous.usages());
+		});
+		entries = Map.copyOf(reloaded);
+		lastModified = lastModified();
+		log.info("query registry reloaded {} queries", reloaded.size());
+		return reloaded.size();
+	}
+
+	private void reloadIfChanged() {
+		try {
+			if (lastModified() != lastModified) {
+				reload();
+			}
+		} catch (Exception e) {
+			// a broken edit must not take the running queries down, keep the previous version
+			log.error("query registry reload failed, keeping previous queries", e);
+			lastModified = lastModified();
+		}
+	}
+
+	private QueryEntry use(String key, Kind kind) {
+		QueryEntry entry = entries.get(key);
+		if (entry == null || entry.kind() != kind) {
+			throw new IllegalArgumentException("No " + kind + " query registered for key " + key);
+		}
+		entry.usages().increment();
+		return entry;
+	}
+
+	private Map<String, QueryEntry> load() throws IOException {
+		Properties properties = PropertiesLoaderUtils.loadProperties(queriesResource);
+		Map<String, QueryEntry> loaded = new ConcurrentHashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			String text = properties.getProperty(key).trim();
+			Kind kind = key.endsWith("sql") ? Kind.SQL : Kind.JPQL;
+			long start = System.nanoTime();
+			try {
+				if (kind == Kind.JPQL) {
+					entityManager.createQuery(text);
+				} else {
+					explain(text);
+				}
+			} catch (RuntimeException e) {
+				throw new IllegalStateException("Invalid " + kind + " query '" + key + "': " + text, e);
+			}
+			long parseMicros = (System.nanoTime() - start) / 1_000;
+			log.info("query {} ({}) validated in {} us", key, kind, parseMicros);
+			loaded.put(key, new QueryEntry(key, kind, text, parseMicros, new LongAdder()));
+		}
+		return loaded;
+	}
+
+	// every named parameter bound to NULL (a collection parameter becomes a single "?"), EXPLAIN only plans the statement
+	private void explain(String sql) {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+		SqlParameterSource nulls = new AbstractSqlParameterSource() {
+			@Override
+			public boolean hasValue(String paramName) {
+				return true;
+			}
+
+			@Override
+			public Object getValue(String paramName) {
+				return null;
+			}
+		};
+		String jdbcSql = NamedParameterUtils.substituteNamedParameters(parsedSql, nulls);
+		Object[] args = NamedParameterUtils.buildValueArray(parsedSql, nulls, null);
+		jdbcTemplate.query("EXPLAIN " + jdbcSql, rs -> {
+		}, args);
+	}
+
+	private long lastModified() {
+		try {
+			return queriesResource.lastModified();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+}
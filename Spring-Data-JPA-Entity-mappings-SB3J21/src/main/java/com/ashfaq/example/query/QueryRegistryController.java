@@ -0,0 +1,30 @@
+package com.ashfaq.example.query;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/queries")
+public class QueryRegistryController {
+
+	@Autowired
+	private QueryRegistry queryRegistry;
+
+//	http://localhost:8080/queries  -> every externalized query with its parse time and usage count
+	@GetMapping
+	public Collection<QueryRegistry.QueryEntry> getQueries() {
+		return queryRegistry.entries();
+	}
+
+//	force a reload without waiting for the file watcher
+	@PostMapping("/reload")
+	public int reload() throws IOException {
+		return queryRegistry.reload();
+	}
+}
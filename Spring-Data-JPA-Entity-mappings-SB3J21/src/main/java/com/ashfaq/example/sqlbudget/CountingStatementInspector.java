@@ -0,0 +1,18 @@
+package com.ashfaq.example.sqlbudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hands every SQL statement to this inspector before preparing it. The SQL is passed on
+ * unchanged, it is only counted against the recording of the current thread (if any).
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		SqlRecording.current().ifPresent(recording -> recording.record(sql));
+		return sql;
+	}
+}
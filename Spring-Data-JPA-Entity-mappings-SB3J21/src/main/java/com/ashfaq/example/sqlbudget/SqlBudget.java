@@ -0,0 +1,30 @@
+package com.ashfaq.example.sqlbudget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allowed number of statements for one unit of work.
+ * 
+ * maxStatements caps the total, maxRepeats caps how often the same statement shape may run -
+ * a shape that repeats is the N in an N+1.
+ */
+public record SqlBudget(int maxStatements, int maxRepeats) {
+
+	public static SqlBudget of(int maxStatements) {
+		return new SqlBudget(maxStatements, maxStatements);
+	}
+
+	List<String> violations(SqlRecording recording) {
+		List<String> violations = new ArrayList<>();
+		if (recording.getTotal() > maxStatements) {
+			violations.add(recording.getTotal() + " statements, budget is " + maxStatements);
+		}
+		for (SqlRecording.Shape shape : recording.getShapes()) {
+			if (shape.getCount() > maxRepeats) {
+				violations.add("possible N+1, " + shape);
+			}
+		}
+		return violations;
+	}
+}
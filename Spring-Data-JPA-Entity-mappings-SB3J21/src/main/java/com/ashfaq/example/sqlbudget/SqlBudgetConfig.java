@@ -0,0 +1,25 @@
+package com.ashfaq.example.sqlbudget;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlBudgetConfig {
+
+	@Bean
+	HibernatePropertiesCustomizer countingStatementInspector() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+	}
+
+	@Bean
+	FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(
+			@Value("${sql.budget.max-statements:50}") int maxStatements,
+			@Value("${sql.budget.max-repeats:10}") int maxRepeats,
+			@Value("${sql.budget.strict:false}") boolean strict) {
+		return new FilterRegistrationBean<>(new SqlBudgetFilter(new SqlBudget(maxStatements, maxRepeats), strict));
+	}
+}
@@ -0,0 +1,12 @@
+package com.ashfaq.example.sqlbudget;
+
+import java.util.List;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public SqlBudgetExceededException(String label, List<String> violations) {
+		super("SQL budget exceeded for " + label + ": " + String.join("; ", violations));
+	}
+}
@@ -0,0 +1,52 @@
+package com.ashfaq.example.sqlbudget;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the statements of every HTTP request and checks them against the configured budget.
+ * The check runs after the controller, when the response may already be committed, so an exceeded
+ * budget never fails the request: it is logged as a warning, with strict=true (dev/test environments)
+ * it is logged as an error and, if the response is still open, reported in the X-Sql-Budget-Exceeded header.
+ */
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+	public static final String EXCEEDED_HEADER = "X-Sql-Budget-Exceeded";
+
+	private final SqlBudget budget;
+	private final boolean strict;
+
+	public SqlBudgetFilter(SqlBudget budget, boolean strict) {
+		this.budget = budget;
+		this.strict = strict;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		try (SqlRecording recording = SqlRecording.start(request.getMethod() + " " + request.getRequestURI())) {
+			chain.doFilter(request, response);
+			log.debug("{} ran {} statements", recording.getLabel(), recording.getTotal());
+			try {
+				recording.assertWithin(budget);
+			} catch (SqlBudgetExceededException e) {
+				if (!strict) {
+					log.warn(e.getMessage());
+					return;
+				}
+				log.error(e.getMessage());
+				if (!response.isCommitted()) {
+					response.setHeader(EXCEEDED_HEADER, String.valueOf(recording.getTotal()));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.ashfaq.example.sqlbudget;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Statements executed on the current thread between start() and close().
+ * 
+ * One recording is opened per HTTP request by SqlBudgetFilter, tests open their own around the code
+ * under test. Statements are grouped by shape (the SQL text with whitespace collapsed; Hibernate binds
+ * every value as ?, so the N selects of an N+1 all share one shape). The call site is captured once,
+ * on the first statement of each shape.
+ */
+public final class SqlRecording implements AutoCloseable {
+
+	private static final ThreadLocal<SqlRecording> CURRENT = new ThreadLocal<>();
+	private static final String OWN_PACKAGE = SqlRecording.class.getPackageName();
+	private static final StackWalker WALKER = StackWalker.getInstance();
+
+	public static final class Shape {
+		private final String sql;
+		private final String callSite;
+		private int count;
+
+		private Shape(String sql, String callSite) {
+			this.sql = sql;
+			this.callSite = callSite;
+		}
+
+		public String getSql() {
+			return sql;
+		}
+
+		public String getCallSite() {
+			return callSite;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return count + "x [" + sql + "] at " + callSite;
+		}
+	}
+
+	private final String label;
+	private final SqlRecording previous;
+	private final Map<String, Shape> shapes = new LinkedHashMap<>();
+	private int total;
+
+	private SqlRecording(String label, SqlRecording previous) {
+		this.label = label;
+		this.previous = previous;
+	}
+
+	public static SqlRecording start(String label) {
+		SqlRecording recording = new SqlRecording(label, CURRENT.get());
+		CURRENT.set(recording);
+		return recording;
+	}
+
+	static Optional<SqlRecording> current() {
+		return Optional.ofNullable(CURRENT.get());
+	}
+
+	void record(String sql) {
+		total++;
+		String shape = sql.trim().replaceAll("\\s+", " ");
+		shapes.computeIfAbsent(shape, s -> new Shape(s, callSite())).count++;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	/** shapes, most repeated first */
+	public List<Shape> getShapes() {
+		return shapes.values().stream().sorted(Comparator.comparingInt(Shape::getCount).reversed()).toList();
+	}
+
+	/** Throws SqlBudgetExceededException when the budget is exceeded. */
+	public void assertWithin(SqlBudget budget) {
+		List<String> violations = budget.violations(this);
+		if (!violations.isEmpty()) {
+			throw new SqlBudgetExceededException(label, violations);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	private static String callSite() {
+		return WALKER.walk(frames -> frames
+				.filter(f -> f.getClassName().startsWith("com.ashfaq.") && !f.getClassName().startsWith(OWN_PACKAGE))
+				.findFirst()
+				.map(f -> f.getClassName() + "." + f.getMethodName() + ":" + f.getLineNumber())
+				.orElse("unknown"));
+	}
+}
@@ -0,0 +1,147 @@
+package com.ashfaq.example.templates;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replacement for BeanPropertyRowMapper on hot queries.
+ * 
+ * BeanPropertyRowMapper works out the column to property mapping again for every new instance and
+ * then goes through BeanWrapper/type conversion for every column of every row. Here the mapping is
+ * resolved once per (target class, result set shape), turned into method handles for the no-arg
+ * constructor and the setters, and cached. Each row is then read by column index and pushed straight
+ * into the setters.
+ * 
+ * Column labels are matched to properties the same way BeanPropertyRowMapper does it
+ * (case insensitive, underscores ignored), columns without a matching setter are skipped.
+ * 
+ * The handles depend on the mapped class, so they live in the cached mapping and not in static finals:
+ * the JIT cannot constant-fold them, each setter call is a regular MethodHandle invocation.
+ * What is saved is the per-row BeanWrapper / conversion work, measured by RowMapperBenchmark (src/jmh/java).
+ */
+@Slf4j
+@Component
+public class CompiledRowMapperFactory {
+
+	private final Map<ShapeKey, CompiledMapping<?>> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns a mapper for the given type. The instance is cheap, the expensive part is shared
+	 * through the cache and looked up on the first row only.
+	 */
+	public <T> RowMapper<T> rowMapper(Class<T> type) {
+		return new IndexedRowMapper<>(type);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CompiledMapping<T> mappingFor(Class<T> type, ResultSetMetaData metaData) throws SQLException {
+		int columnCount = metaData.getColumnCount();
+		String[] labels = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			labels[i] = metaData.getColumnLabel(i + 1);
+		}
+		ShapeKey key = new ShapeKey(type, List.of(labels));
+		return (CompiledMapping<T>) cache.computeIfAbsent(key, k -> compile(type, labels));
+	}
+
+	private static <T> CompiledMapping<T> compile(Class<T> type, String[] labels) {
+		long start = System.nanoTime();
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		try {
+			MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+
+			Map<String, PropertyDescriptor> properties = new HashMap<>();
+			for (PropertyDescriptor pd : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+				if (pd.getWriteMethod() != null) {
+					properties.put(normalize(pd.getName()), pd);
+				}
+			}
+
+			MethodHandle[] setters = new MethodHandle[labels.length];
+			Class<?>[] columnTypes = new Class<?>[labels.length];
+			for (int i = 0; i < labels.length; i++) {
+				PropertyDescriptor pd = properties.get(normalize(labels[i]));
+				if (pd != null) {
+					// (Object, Object)void so invokeExact does not need the concrete types at the call site
+					setters[i] = lookup.unreflect(pd.getWriteMethod())
+							.asType(MethodType.methodType(void.class, Object.class, Object.class));
+					columnTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(pd.getPropertyType());
+				}
+			}
+
+			log.info("compiled row mapping for {} over columns {} in {} us", type.getSimpleName(), List.of(labels),
+					(System.nanoTime() - start) / 1_000);
+			return new CompiledMapping<>(constructor.asType(MethodType.methodType(Object.class)), setters, columnTypes);
+		} catch (ReflectiveOperationException | IntrospectionException e) {
+			throw new IllegalStateException("Cannot build row mapping for " + type.getName(), e);
+		}
+	}
+
+	private static String normalize(String name) {
+		return name.replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+	}
+
+	private record ShapeKey(Class<?> type, List<String> labels) {
+	}
+
+	private record CompiledMapping<T>(MethodHandle constructor, MethodHandle[] setters, Class<?>[] columnTypes) {
+
+		@SuppressWarnings("unchecked")
+		T map(ResultSet rs) throws SQLException {
+			try {
+				Object target = (Object) constructor.invokeExact();
+				for (int i = 0; i < setters.length; i++) {
+					MethodHandle setter = setters[i];
+					if (setter == null) {
+						continue;
+					}
+					Object value = rs.getObject(i + 1, columnTypes[i]);
+					if (value != null) {
+						setter.invokeExact(target, value);
+					}
+				}
+				return (T) target;
+			} catch (SQLException | RuntimeException e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException("Row mapping failed", t);
+			}
+		}
+	}
+
+	private final class IndexedRowMapper<T> implements RowMapper<T> {
+
+		private final Class<T> type;
+		private CompiledMapping<T> mapping;
+
+		private IndexedRowMapper(Class<T> type) {
+			this.type = type;
+		}
+
+		@Override
+		public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+			if (mapping == null) {
+				mapping = mappingFor(type, rs.getMetaData());
+			}
+			return mapping.map(rs);
+		}
+	}
+}
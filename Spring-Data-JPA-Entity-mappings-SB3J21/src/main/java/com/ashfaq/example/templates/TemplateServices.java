@@ -3,14 +3,13 @@ package com.ashfaq.example.templates;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import com.ashfaq.example.query.MangoEmploye;
+import com.ashfaq.example.query.QueryRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,8 +20,13 @@ public class TemplateServices {
 	  @Autowired
 	    private NamedParameterJdbcTemplate jdbcTemplate;
 
-	    @Value("${mango.employee.querysql}")
-	    private String query; //need to provided SQL queries i,e native qry not JQL queires
+	  @Autowired
+	    private CompiledRowMapperFactory rowMapperFactory;
+
+	  @Autowired
+	    private QueryRegistry queryRegistry;
+
+	    private static final String QUERY_KEY = "mango.employee.querysql"; //need to provided SQL queries i,e native qry not JQL queires
 
 	    public List<MangoEmploye> findEmployeesByDepartmentIdAndEmployeeIdsAndNames(
 	    		Long departmentId,
@@ -34,8 +38,10 @@ public class TemplateServices {
 	         params.addValue("names", names);
 
 	    
-	         // Use BeanPropertyRowMapper to map the result set columns to the MangoEmploye class properties
-	         RowMapper<MangoEmploye> rowMapper = new BeanPropertyRowMapper<>(MangoEmploye.class);
+	         // Mapping is resolved once per result set shape and cached, rows are read by column index
+	         // (previously new BeanPropertyRowMapper<>(MangoEmploye.class) on every call)
+	         RowMapper<MangoEmploye> rowMapper = rowMapperFactory.rowMapper(MangoEmploye.class);
+	         String query = queryRegistry.sql(QUERY_KEY);
 	         log.info("qry : {} and  rowMapper : {}", query,rowMapper);
 	         return jdbcTemplate.query(query, params, rowMapper);
 	    }
@@ -0,0 +1,16 @@
+-- One off migration of ApplicationUser roles from the ApplicationUser_roles element collection
+-- to the role_mask column (bit per role, see Role.mask(): USER = 1, ADMIN = 2).
+-- Safe to run more than once. Not part of spring.sql.init, run it manually.
+
+-- the column itself is added by ddl-auto=update, on environments without it:
+-- ALTER TABLE data_schema.application_users ADD COLUMN role_mask INT NOT NULL DEFAULT 0;
+
+UPDATE data_schema.application_users u
+SET u.role_mask = (
+    SELECT COALESCE(SUM(DISTINCT CASE r.role WHEN 'USER' THEN 1 WHEN 'ADMIN' THEN 2 ELSE 0 END), 0)
+    FROM data_schema.application_user_roles r
+    WHERE r.user_id = u.id
+);
+
+-- once every reader uses role_mask and the application no longer maps ApplicationUser.roles:
+-- DROP TABLE data_schema.application_user_roles;
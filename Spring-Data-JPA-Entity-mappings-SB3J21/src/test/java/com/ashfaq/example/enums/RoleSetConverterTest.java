@@ -0,0 +1,48 @@
+package com.ashfaq.example.enums;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class RoleSetConverterTest {
+
+    private final RoleSetConverter converter = new RoleSetConverter();
+
+    @Test
+    void emptySetIsZero() {
+        assertEquals(0, converter.convertToDatabaseColumn(EnumSet.noneOf(Role.class)));
+        assertEquals(0, converter.convertToDatabaseColumn(null));
+        assertEquals(EnumSet.noneOf(Role.class), converter.convertToEntityAttribute(0));
+        assertEquals(EnumSet.noneOf(Role.class), converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void allRolesRoundTrip() {
+        Set<Role> all = EnumSet.allOf(Role.class);
+        int mask = converter.convertToDatabaseColumn(all);
+        for (Role role : Role.values()) {
+            assertEquals(role.mask(), mask & role.mask());
+        }
+        assertEquals(all, converter.convertToEntityAttribute(mask));
+    }
+
+    @Test
+    void eachRoleRoundTripsAlone() {
+        for (Role role : Role.values()) {
+            int mask = converter.convertToDatabaseColumn(EnumSet.of(role));
+            assertEquals(role.mask(), mask);
+            assertEquals(EnumSet.of(role), converter.convertToEntityAttribute(mask));
+        }
+    }
+
+    @Test
+    void unknownBitsAreIgnored() {
+        int unknown = 1 << 30 | 1 << 17;
+        assertEquals(EnumSet.noneOf(Role.class), converter.convertToEntityAttribute(unknown));
+        assertEquals(EnumSet.of(Role.ADMIN), converter.convertToEntityAttribute(unknown | Role.ADMIN.mask()));
+        assertEquals(EnumSet.allOf(Role.class), converter.convertToEntityAttribute(-1));
+    }
+}
@@ -0,0 +1,72 @@
+package com.ashfaq.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashfaq.example.sqlbudget.SqlBudget;
+import com.ashfaq.example.sqlbudget.SqlRecording;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class ProductCategorySyncStatementCountTest {
+
+	private static final int CATEGORIES = 300;
+
+	@Autowired
+	private ProductCategoryService productCategoryService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Long productId;
+	private List<Long> categoryIds;
+	private Long spareCategoryId;
+
+	@BeforeEach
+	void setUp() {
+		Set<Category> categorys = new HashSet<>();
+		for (int i = 0; i < CATEGORIES; i++) {
+			categorys.add(new Category(null, "category" + i, null));
+		}
+		// all new, ids not assigned yet: every one of them has to stay in the set
+		assertEquals(CATEGORIES, categorys.size());
+
+		Product product = new Product(null, "product", categorys);
+		entityManager.persist(product);
+		Category spare = new Category(null, "spare", null);
+		entityManager.persist(spare);
+		entityManager.flush();
+
+		productId = product.getPId();
+		categoryIds = new ArrayList<>(categorys.stream().map(Category::getCId).toList());
+		spareCategoryId = spare.getCId();
+		entityManager.clear();
+	}
+
+	// one link swapped out of 300: load + one join row DELETE + one join row INSERT, not 300 + 300
+	@Test
+	void swappingOneLinkTouchesOneJoinRowEach() {
+		Set<Long> wanted = new HashSet<>(categoryIds.subList(1, CATEGORIES));
+		wanted.add(spareCategoryId);
+
+		try (SqlRecording recording = SqlRecording.start("sync 1 of " + CATEGORIES + " categories")) {
+			ProductCategoryService.SyncResult result = productCategoryService.syncCategories(productId, wanted);
+			entityManager.flush();
+
+			assertEquals(new ProductCategoryService.SyncResult(1, 1, CATEGORIES - 1), result);
+			recording.assertWithin(new SqlBudget(3, 1));
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.ashfaq.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashfaq.example.sqlbudget.SqlBudget;
+import com.ashfaq.example.sqlbudget.SqlBudgetExceededException;
+import com.ashfaq.example.sqlbudget.SqlRecording;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class StudentRepositorySqlBudgetTest {
+
+	private static final int STUDENTS = 3;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < STUDENTS; i++) {
+			Student student = new Student(null, "student" + i, "about" + i, null, null);
+			Address home = new Address(0, "street" + i, "city" + i, student);
+			Address work = new Address(0, "office" + i, "city" + i, student);
+			student.setAddress(List.of(home, work));
+			entityManager.persist(student);
+			entityManager.persist(new Laptop(0, "brand" + i, "model" + i, student));
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void fetchPlanLoadsStudentsLaptopsAndAddressesInOneStatement() {
+		try (SqlRecording recording = SqlRecording.start("students with laptop and address")) {
+			studentRepository.findAll(StudentFetchPlan.LAPTOP_AND_ADDRESS)
+					.forEach(s -> s.getAddress().size());
+			recording.assertWithin(SqlBudget.of(1));
+		}
+	}
+
+	@Test
+	void laptopPlanIsOneStatement() {
+		try (SqlRecording recording = SqlRecording.start("students with laptop")) {
+			studentRepository.findAll(StudentFetchPlan.LAPTOP).forEach(s -> s.getLaptop().getBrand());
+			assertEquals(1, recording.getTotal());
+		}
+	}
+
+	@Test
+	void addressPlanStillSelectsEachLaptop() {
+		try (SqlRecording recording = SqlRecording.start("students with address")) {
+			studentRepository.findAll(StudentFetchPlan.ADDRESS).forEach(s -> s.getAddress().size());
+			assertEquals(1 + STUDENTS, recording.getTotal());
+		}
+	}
+
+	@Test
+	void laptopAndAddressPlanIsOneStatement() {
+		try (SqlRecording recording = SqlRecording.start("students with laptop and address")) {
+			studentRepository.findAll(StudentFetchPlan.LAPTOP_AND_ADDRESS)
+					.forEach(s -> s.getAddress().size());
+			assertEquals(1, recording.getTotal());
+		}
+	}
+
+	@Test
+	void plainFindAllIsReportedAsNPlusOne() {
+		try (SqlRecording recording = SqlRecording.start("students without fetch plan")) {
+			studentRepository.findAll().forEach(s -> s.getAddress().size());
+			assertThrows(SqlBudgetExceededException.class, () -> recording.assertWithin(new SqlBudget(10, 1)));
+		}
+	}
+}
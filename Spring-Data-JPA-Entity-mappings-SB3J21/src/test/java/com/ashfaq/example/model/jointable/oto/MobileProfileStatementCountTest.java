@@ -0,0 +1,63 @@
+package com.ashfaq.example.model.jointable.oto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ashfaq.example.model.jointable.oto.sharedkey.SharedKeyMobileProfile;
+import com.ashfaq.example.model.jointable.oto.sharedkey.SharedKeyMobileProfileRepository;
+import com.ashfaq.example.model.jointable.oto.sharedkey.SharedKeyMobileUser;
+import com.ashfaq.example.sqlbudget.SqlBudget;
+import com.ashfaq.example.sqlbudget.SqlRecording;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class MobileProfileStatementCountTest {
+
+	private static final int USERS = 5;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private SharedKeyMobileProfileRepository sharedKeyProfileRepository;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < USERS; i++) {
+			MobileProfile profile = new MobileProfile(null, "address" + i, "phone" + i, null);
+			entityManager.persist(profile);
+			entityManager.persist(new MobileUser(null, "user" + i, "secret", profile));
+
+			SharedKeyMobileUser user = new SharedKeyMobileUser(null, "user" + i, "secret", null);
+			user.setProfile(new SharedKeyMobileProfile(null, "address" + i, "phone" + i, null));
+			entityManager.persist(user);
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	// mappedBy side cannot be proxied: 1 select for the profiles + 1 per profile for its user
+	@Test
+	void joinColumnMappingLoadsEveryUser() {
+		try (SqlRecording recording = SqlRecording.start("MobileProfile bulk load")) {
+			entityManager.createQuery("SELECT p FROM MobileProfile p", MobileProfile.class).getResultList();
+			assertEquals(1 + USERS, recording.getTotal());
+		}
+	}
+
+	// shared primary key: the user stays a proxy, a single select
+	@Test
+	void sharedKeyMappingLoadsProfilesOnly() {
+		try (SqlRecording recording = SqlRecording.start("SharedKeyMobileProfile bulk load")) {
+			sharedKeyProfileRepository.findAll().forEach(p -> p.getUser().getId());
+			recording.assertWithin(SqlBudget.of(1));
+		}
+	}
+}
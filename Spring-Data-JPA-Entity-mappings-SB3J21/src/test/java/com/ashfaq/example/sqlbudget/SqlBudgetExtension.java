@@ -0,0 +1,47 @@
+package com.ashfaq.example.sqlbudget;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Records the statements of every test method and fails the test when they exceed its budget
+ * (@SqlStatementBudget on the method or class, the defaults otherwise).
+ * 
+ * Registered for all tests through JUnit's extension auto-detection (META-INF/services and
+ * junit-platform.properties under src/test/resources). Only the test method itself is recorded,
+ * fixtures built in @BeforeEach do not count. A test that opens its own SqlRecording keeps its
+ * statements to itself.
+ */
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+	// same as the defaults of SqlStatementBudget
+	private static final SqlBudget DEFAULT_BUDGET = new SqlBudget(50, 10);
+
+	@Override
+	public void beforeTestExecution(ExtensionContext context) {
+		context.getStore(NAMESPACE).put(context.getUniqueId(), SqlRecording.start(context.getDisplayName()));
+	}
+
+	@Override
+	public void afterTestExecution(ExtensionContext context) {
+		SqlRecording recording = context.getStore(NAMESPACE).remove(context.getUniqueId(), SqlRecording.class);
+		if (recording == null) {
+			return;
+		}
+		recording.close();
+		// a failing test reports its own failure, not the budget
+		if (context.getExecutionException().isEmpty()) {
+			recording.assertWithin(budget(context));
+		}
+	}
+
+	private static SqlBudget budget(ExtensionContext context) {
+		SqlStatementBudget annotation = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlStatementBudget.class)
+				.or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlStatementBudget.class))
+				.orElse(null);
+		return annotation == null ? DEFAULT_BUDGET : new SqlBudget(annotation.maxStatements(), annotation.maxRepeats());
+	}
+}
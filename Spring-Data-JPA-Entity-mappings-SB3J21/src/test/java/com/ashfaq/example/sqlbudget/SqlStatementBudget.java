@@ -0,0 +1,21 @@
+package com.ashfaq.example.sqlbudget;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Statement budget of a test method (or of every test in a class), enforced by SqlBudgetExtension.
+ * Tests without the annotation get the defaults, the same as sql.budget.* of the application.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface SqlStatementBudget {
+
+	int maxStatements() default 50;
+
+	int maxRepeats() default 10;
+}
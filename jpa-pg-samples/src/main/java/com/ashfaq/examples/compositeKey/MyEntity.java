@@ -1,12 +1,14 @@
 package com.ashfaq.examples.compositeKey;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
 import jakarta.persistence.Table;
 
 @Entity
 @IdClass(MyEntityId.class) // Reference the composite key class
+@EntityListeners(MyEntityKeyListener.class) // keeps the Bloom filter of existing keys up to date
 @Table(name = "my_entity", schema = "labschema")
 public class MyEntity {
     
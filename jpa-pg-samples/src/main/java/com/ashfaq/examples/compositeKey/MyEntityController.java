@@ -1,9 +1,18 @@
 package com.ashfaq.examples.compositeKey;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/entity")
@@ -11,12 +20,41 @@ public class MyEntityController {
 
     private final MyEntityService service;
 
-    public MyEntityController(MyEntityService service) {
+    private final MyEntityExistenceFilter existenceFilter;
+
+    private final int batchMaxKeys;
+
+    public MyEntityController(MyEntityService service, MyEntityExistenceFilter existenceFilter,
+                              @Value("${entity.exists.batch-max-keys:10000}") int batchMaxKeys) {
         this.service = service;
+        this.existenceFilter = existenceFilter;
+        this.batchMaxKeys = batchMaxKeys;
     }
 
     @GetMapping("/exists")
     public boolean checkExists(@RequestParam Long id1, @RequestParam String id2) {
         return service.checkIfExists(id1, id2);
     }
+
+    // POST /entity/exists/batch  [{"id1":1,"id2":"A123"},{"id1":2,"id2":"B456"}]  ->  [true,false]
+    // one query per chunk of keys instead of one request + one query per key
+    @PostMapping("/exists/batch")
+    public boolean[] checkExistsBatch(@RequestBody List<MyEntityId> keys) {
+        if (keys.size() > batchMaxKeys) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    keys.size() + " keys, at most " + batchMaxKeys + " per request");
+        }
+        BitSet existing = service.checkIfExists(keys);
+        boolean[] result = new boolean[keys.size()];
+        for (int i = existing.nextSetBit(0); i >= 0; i = existing.nextSetBit(i + 1)) {
+            result[i] = true;
+        }
+        return result;
+    }
+
+    // size, memory and false positive rate of the existence Bloom filter
+    @GetMapping("/exists/filter-stats")
+    public Map<String, Object> filterStats() {
+        return existenceFilter.stats();
+    }
 }
@@ -0,0 +1,277 @@
+package com.ashfaq.examples.compositeKey;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Negative cache for MyEntity keys: most existence checks are for keys that do not exist, a Bloom filter over
+ * (id1, id2) answers those without a query. Only "maybe" answers go to existsById.
+ *
+ * Off unless entity.bloom.enabled=true, every check then goes to the database.
+ * 
+ * Built from a scan of labschema.my_entity when the application is ready and rebuilt in the background every
+ * entity.bloom.rebuild-interval-ms (a rebuild also forgets deleted keys and re-sizes the filter for the current
+ * row count). Inserts through JPA are added at once by MyEntityKeyListener. Every other write path (SQL scripts,
+ * other instances) is covered by a trigger that appends the key to labschema.my_entity_key_log
+ * (my-entity-key-log.sql, installed at startup); the log is polled every entity.bloom.change-poll-ms.
+ * The poll reads in (xid, seq) order and only moves past entries whose transaction is older than every transaction
+ * still running: an entry with a lower xid can not show up after that. Younger entries are read (adding a key twice
+ * is harmless) and read again by the next poll. So a row written around JPA can be answered "no" until one poll
+ * after it commits, and while a long transaction is running at most CHANGE_POLL_LIMIT entries behind it are read.
+ * Entries older than entity.bloom.change-retention-ms are removed after a rebuild, the scan has them. The trigger
+ * stays installed when the filter is switched off, a disabled instance still purges entries past the retention.
+ */
+@Slf4j
+@Component
+public class MyEntityExistenceFilter {
+
+    private static final int CHANGE_POLL_LIMIT = 10_000;
+
+    // entries after the (xid, seq) cursor, with the xid of the oldest running transaction (same for every row)
+    private static final String CHANGE_POLL_SQL = """
+            SELECT xid, seq, id1, id2, pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            FROM labschema.my_entity_key_log
+            WHERE (xid, seq) > (?, ?)
+            ORDER BY xid, seq
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minExpectedInsertions;
+    private final double headroom;
+    private final long changeRetentionMs;
+
+    private volatile BloomFilter current;
+    // filter being filled by a rebuild, inserts go to both so none is lost in the swap
+    private volatile BloomFilter building;
+    private volatile long lastRebuildMillis;
+    private volatile long lastRebuildDurationMillis;
+    // (xid, seq) of the last log entry the poll moved past: every entry before it is in the filter
+    private volatile long changeXid;
+    private volatile long changeSeq;
+    // log entries before this time are covered by the last rebuild, 0 = nothing to purge
+    private volatile long purgeBefore;
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder databaseChecks = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder loggedKeys = new LongAdder();
+
+    public MyEntityExistenceFilter(JdbcTemplate jdbcTemplate,
+                                   @Value("${entity.bloom.enabled:false}") boolean enabled,
+                                   @Value("${entity.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                                   @Value("${entity.bloom.min-expected-insertions:10000}") long minExpectedInsertions,
+                                   @Value("${entity.bloom.headroom:2.0}") double headroom,
+                                   @Value("${entity.bloom.change-retention-ms:3600000}") long changeRetentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.headroom = headroom;
+        this.changeRetentionMs = changeRetentionMs;
+    }
+
+    /**
+     * false: the key is definitely not in the table (as of the last rebuild plus inserts since).
+     * true: the key may exist, ask the database. Also true while the first build has not finished or the filter
+     * is disabled.
+     */
+    public boolean mightExist(Long id1, String id2) {
+        BloomFilter filter = current;
+        if (filter == null || filter.mightContain(hash(id1, id2))) {
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    // outcome of a query the filter let through, a "maybe" that was not there is a false positive
+    public void recordDatabaseCheck(boolean exists) {
+        databaseChecks.increment();
+        if (!exists) {
+            falsePositives.increment();
+        }
+    }
+
+    void add(Long id1, String id2) {
+        long hash = hash(id1, id2);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(hash);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(hash);
+        }
+    }
+
+    // before the first rebuild: keys written from here on are logged, the scan sees everything before
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void installChangeLog() {
+        if (!enabled) {
+            log.info("my_entity bloom filter disabled (entity.bloom.enabled=false)");
+            return;
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("my-entity-key-log.sql"));
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        DatabasePopulatorUtils.execute(populator, jdbcTemplate.getDataSource());
+        // entries of transactions that ended before now are committed, the rebuild scan will see their rows
+        changeXid = jdbcTemplate.queryForObject("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+        changeSeq = 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${entity.bloom.rebuild-interval-ms:600000}", fixedDelayString = "${entity.bloom.rebuild-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        BloomFilter next;
+        try {
+            Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM labschema.my_entity", Long.class);
+            BloomFilter filling = BloomFilter.create(Math.max(minExpectedInsertions, (long) (rows * headroom)), falsePositiveRate);
+            building = filling;
+            // keys only, streamed in fetch-size chunks inside the read-only transaction
+            jdbcTemplate.query(con -> {
+                var statement = con.prepareStatement("SELECT id1, id2 FROM labschema.my_entity");
+                statement.setFetchSize(10_000);
+                return statement;
+            }, rs -> {
+                filling.put(hash(rs.getLong(1), rs.getString(2)));
+            });
+            current = next = filling;
+        } catch (DataAccessException e) {
+            // keep the previous filter (or none: every check goes to the database)
+            log.warn("my_entity bloom filter rebuild failed", e);
+            return;
+        } finally {
+            building = null;
+        }
+        lastRebuildMillis = System.currentTimeMillis();
+        lastRebuildDurationMillis = lastRebuildMillis - start;
+        log.info("my_entity bloom filter rebuilt: {} keys, {} KiB, {} hash functions, {} ms",
+                next.insertions(), next.memoryBytes() / 1024, next.hashFunctions(), lastRebuildDurationMillis);
+
+        // older than the retention and than this scan: the filter has these keys from the table itself.
+        // Deleted by the next poll, this transaction is read-only
+        purgeBefore = Math.min(start, System.currentTimeMillis() - changeRetentionMs);
+    }
+
+    // keys written around JPA, from the trigger fed log
+    @Scheduled(initialDelayString = "${entity.bloom.change-poll-ms:1000}", fixedDelayString = "${entity.bloom.change-poll-ms:1000}")
+    public void pollChanges() {
+        if (!enabled || current == null) {
+            return;
+        }
+        long[] settled = {changeXid, changeSeq};
+        try {
+            jdbcTemplate.query(CHANGE_POLL_SQL, rs -> {
+                add(rs.getLong(3), rs.getString(4));
+                loggedKeys.increment();
+                // xid below the oldest running transaction: nothing can be logged before this entry any more
+                if (rs.getLong(1) < rs.getLong(5)) {
+                    settled[0] = rs.getLong(1);
+                    settled[1] = rs.getLong(2);
+                }
+            }, changeXid, changeSeq, CHANGE_POLL_LIMIT);
+            long before = purgeBefore;
+            if (before > 0) {
+                jdbcTemplate.update("DELETE FROM labschema.my_entity_key_log WHERE logged_at < ?", new Timestamp(before));
+                purgeBefore = 0;
+            }
+        } catch (DataAccessException e) {
+            log.warn("my_entity key log poll failed", e);
+            return;
+        }
+        changeXid = settled[0];
+        changeSeq = settled[1];
+    }
+
+    // the trigger outlives the filter: with the filter off, entries past the retention are still removed
+    @Scheduled(initialDelayString = "${entity.bloom.rebuild-interval-ms:600000}", fixedDelayString = "${entity.bloom.rebuild-interval-ms:600000}")
+    public void purgeDisabledChangeLog() {
+        if (enabled) {
+            return;
+        }
+        try {
+            Boolean installed = jdbcTemplate.queryForObject(
+                    "SELECT to_regclass('labschema.my_entity_key_log') IS NOT NULL", Boolean.class);
+            if (Boolean.TRUE.equals(installed)) {
+                jdbcTemplate.update("DELETE FROM labschema.my_entity_key_log WHERE logged_at < ?",
+                        new Timestamp(System.currentTimeMillis() - changeRetentionMs));
+            }
+        } catch (DataAccessException e) {
+            log.warn("my_entity key log purge failed", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        BloomFilter filter = current;
+        stats.put("enabled", enabled);
+        stats.put("ready", filter != null);
+        if (filter != null) {
+            stats.put("bits", filter.bitSize());
+            stats.put("hashFunctions", filter.hashFunctions());
+            stats.put("memoryBytes", filter.memoryBytes());
+            stats.put("expectedInsertions", filter.expectedInsertions());
+            stats.put("insertions", filter.insertions());
+            stats.put("targetFalsePositiveRate", falsePositiveRate);
+            stats.put("expectedFalsePositiveRate", filter.expectedFalsePositiveRate());
+        }
+        long misses = definiteMisses.sum();
+        long fp = falsePositives.sum();
+        stats.put("definiteMisses", misses);
+        stats.put("databaseChecks", databaseChecks.sum());
+        stats.put("falsePositives", fp);
+        // share of absent keys the filter failed to stop
+        stats.put("observedFalsePositiveRate", misses + fp == 0 ? 0.0 : (double) fp / (misses + fp));
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        stats.put("lastRebuildDurationMillis", lastRebuildDurationMillis);
+        stats.put("changeXid", changeXid);
+        stats.put("changeSeq", changeSeq);
+        stats.put("loggedKeysRead", loggedKeys.sum());
+        return stats;
+    }
+
+    // 64-bit hash of the composite key, h1 / h2 of the filter are its two halves
+    static long hash(Long id1, String id2) {
+        long h = mix(id1 == null ? 0 : id1);
+        if (id2 != null) {
+            for (int i = 0; i < id2.length(); i++) {
+                h = (h ^ id2.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        return mix(h);
+    }
+
+    // murmur3 fmix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
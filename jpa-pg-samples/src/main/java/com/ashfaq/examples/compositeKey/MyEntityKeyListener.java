@@ -0,0 +1,34 @@
+package com.ashfaq.examples.compositeKey;
+
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adds the key of every inserted MyEntity to MyEntityExistenceFilter.
+ * Hibernate creates it through Spring (SpringBeanContainer), so the filter can be injected.
+ * The key is added at flush, before commit, so the filter never says "no" for a committed row. If the transaction
+ * rolls back the filter only has one more false positive, which is harmless.
+ * It is added again after commit: a rebuild that scanned the table before this commit would not have the key.
+ */
+public class MyEntityKeyListener {
+
+    @Autowired
+    private MyEntityExistenceFilter existenceFilter;
+
+    @PostPersist
+    void inserted(MyEntity entity) {
+        Long id1 = entity.getId1();
+        String id2 = entity.getId2();
+        existenceFilter.add(id1, id2);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    existenceFilter.add(id1, id2);
+                }
+            });
+        }
+    }
+}
@@ -1,18 +1,127 @@
 package com.ashfaq.examples.compositeKey;
 
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Service
 public class MyEntityService {
 
+    /*
+     One round trip for a whole chunk: the keys go in as two parallel arrays, unnest turns them back into rows
+     (with their position) and the join against the primary key returns the positions that exist.
+     */
+    private static final String EXISTING_POSITIONS = """
+            SELECT k.pos
+            FROM unnest(?::bigint[], ?::varchar[]) WITH ORDINALITY AS k(id1, id2, pos)
+            JOIN labschema.my_entity e ON e.id1 = k.id1 AND e.id2 = k.id2
+            """;
+
     private final MyEntityRepository repository;
 
-    public MyEntityService(MyEntityRepository repository) {
+    private final MyEntityExistenceFilter existenceFilter;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int chunkSize;
+
+    private final ExecutorService chunkExecutor;
+
+    public MyEntityService(MyEntityRepository repository, MyEntityExistenceFilter existenceFilter,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${entity.exists.batch-chunk-size:1000}") int chunkSize,
+                           @Value("${entity.exists.batch-parallelism:4}") int parallelism) {
         this.repository = repository;
+        this.existenceFilter = existenceFilter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.chunkExecutor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("entity-exists-", 0).daemon(true).factory());
     }
 
     public boolean checkIfExists(Long id1, String id2) {
+        // definite "no" from the Bloom filter, no query
+        if (!existenceFilter.mightExist(id1, id2)) {
+            return false;
+        }
         MyEntityId key = new MyEntityId(id1, id2);
-        return repository.existsById(key);
+        boolean exists = repository.existsById(key);
+        existenceFilter.recordDatabaseCheck(exists);
+        return exists;
+    }
+
+    /**
+     * Existence of many keys at once: bit i is set when keys.get(i) exists.
+     * Keys the Bloom filter rules out are never sent, the rest go to the database in chunks of
+     * entity.exists.batch-chunk-size keys, one query per chunk, up to entity.exists.batch-parallelism chunks at a time.
+     */
+    public BitSet checkIfExists(List<MyEntityId> keys) {
+        // positions in keys of the candidates that still need the database
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            MyEntityId key = keys.get(i);
+            if (key != null && key.getId1() != null && key.getId2() != null
+                    && existenceFilter.mightExist(key.getId1(), key.getId2())) {
+                candidates.add(i);
+            }
+        }
+
+        BitSet existing = new BitSet(keys.size());
+        if (candidates.size() <= chunkSize) {
+            existing.or(checkChunk(keys, candidates));
+            return existing;
+        }
+
+        List<CompletableFuture<BitSet>> chunks = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            List<Integer> chunk = candidates.subList(from, Math.min(from + chunkSize, candidates.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> checkChunk(keys, chunk), chunkExecutor));
+        }
+        chunks.forEach(chunk -> existing.or(chunk.join()));
+        return existing;
+    }
+
+    private BitSet checkChunk(List<MyEntityId> keys, List<Integer> positions) {
+        BitSet existing = new BitSet();
+        if (positions.isEmpty()) {
+            return existing;
+        }
+        Long[] id1s = new Long[positions.size()];
+        String[] id2s = new String[positions.size()];
+        for (int i = 0; i < positions.size(); i++) {
+            MyEntityId key = keys.get(positions.get(i));
+            id1s[i] = key.getId1();
+            id2s[i] = key.getId2();
+        }
+
+        List<Long> found = jdbcTemplate.query(con -> {
+            Array id1Array = con.createArrayOf("bigint", id1s);
+            Array id2Array = con.createArrayOf("varchar", id2s);
+            var statement = con.prepareStatement(EXISTING_POSITIONS);
+            statement.setArray(1, id1Array);
+            statement.setArray(2, id2Array);
+            return statement;
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        // pos is 1-based within the chunk
+        found.forEach(pos -> existing.set(positions.get(pos.intValue() - 1)));
+        for (int i = 0; i < positions.size(); i++) {
+            existenceFilter.recordDatabaseCheck(existing.get(positions.get(i)));
+        }
+        return existing;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        chunkExecutor.shutdown();
     }
 }
@@ -5,6 +5,10 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
+@Table(name = "incident", indexes = {
+        // triage feed: one index range per status, already in (created_date, id) order, see IncidentRepository
+        @Index(name = "idx_incident_status_created", columnList = "status, created_date, id")
+})
 public class Incident {
 
     @Id
@@ -16,6 +20,12 @@ public class Incident {
 //    @Temporal(TemporalType.DATE) working fine with and without
     private Date createdDate;
 
+    // work queue bookkeeping (IncidentQueueConsumer): failed handler runs and when the incident may be claimed again
+    @Column(columnDefinition = "integer not null default 0")
+    private int attempts;
+
+    private Date nextAttemptAt;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -41,6 +51,22 @@ public class Incident {
         this.createdDate = createdDate;
     }
 
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Date nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
 
 
 }
@@ -0,0 +1,38 @@
+package com.ashfaq.examples.conditions.or;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Date;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/incidents")
+public class IncidentController {
+
+    private final IncidentService incidentService;
+
+    private final IncidentQueueConsumer queueConsumer;
+
+    public IncidentController(IncidentService incidentService, IncidentQueueConsumer queueConsumer) {
+        this.incidentService = incidentService;
+        this.queueConsumer = queueConsumer;
+    }
+
+    // GET /incidents/triage?openBefore=2025-01-10&size=50
+    // GET /incidents/triage?openBefore=2025-01-10&size=50&cursor=<nextCursor of the previous page>
+    @GetMapping("/triage")
+    public IncidentFeedPage triageFeed(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date openBefore,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "50") int size) {
+        return incidentService.triageFeed(openBefore, cursor, size);
+    }
+
+    @GetMapping("/queue/stats")
+    public Map<String, Object> queueStats() {
+        return queueConsumer.stats();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ashfaq.examples.conditions.or;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque continuation token of the triage feed: the (createdDate, id) of the last incident returned.
+ * The client sends it back as-is to get the next page.
+ * created_date is a microsecond timestamp, so the token keeps the full Instant (a loaded createdDate is a
+ * java.sql.Timestamp) - cut to millis the last row of a page would come back on the next one.
+ */
+public record IncidentCursor(Date createdDate, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        Instant instant = createdDate.toInstant();
+        String raw = instant.getEpochSecond() + "." + instant.getNano() + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static IncidentCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            String[] time = raw.substring(0, sep).split("\\.");
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(time[0]), Long.parseLong(time[1]));
+            return new IncidentCursor(Timestamp.from(instant), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public static IncidentCursor of(Incident incident) {
+        return new IncidentCursor(incident.getCreatedDate(), incident.getId());
+    }
+}
@@ -0,0 +1,6 @@
+package com.ashfaq.examples.conditions.or;
+
+import java.util.List;
+
+public record IncidentFeedPage(List<Incident> items, String nextCursor, boolean hasNext) {
+}
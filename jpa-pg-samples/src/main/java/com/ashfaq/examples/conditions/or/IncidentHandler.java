@@ -0,0 +1,11 @@
+package com.ashfaq.examples.conditions.or;
+
+/**
+ * Work done for one claimed incident by IncidentQueueConsumer. Runs inside the claiming transaction, the row
+ * stays locked until the whole batch is committed. Throwing fails this incident only, it is retried later.
+ */
+@FunctionalInterface
+public interface IncidentHandler {
+
+    void handle(Incident incident);
+}
@@ -0,0 +1,217 @@
+package com.ashfaq.examples.conditions.or;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Work queue over the incident table: findIncidentsByStatusAndDate hands every Reopened / old Open incident to one
+ * caller, here N workers each claim the oldest batch with FOR UPDATE SKIP LOCKED, handle it and move it to
+ * InProgress in the same transaction. Rows claimed by one worker are invisible to the others until that commit,
+ * and after the commit they no longer match the condition, so no incident is handled twice and workers never wait
+ * on each other.
+ * Every incident is handled behind its own savepoint, its changes are flushed before the savepoint is released: a
+ * handler that throws only rolls back its own work, the rest of the batch still moves on. A flush that fails in
+ * Hibernate itself (a constraint violation, say) marks the whole transaction rollback-only, then the batch is claimed
+ * again as a whole. The failed incident keeps its status, its attempts are counted and it is not claimed
+ * again before retry-delay-ms, so one incident that always fails cannot block the head of the queue. After
+ * max-attempts it is parked in status Failed (dead letter) for someone to look at.
+ */
+@Slf4j
+@Component
+public class IncidentQueueConsumer {
+
+    public static final String STATUS_OPEN = "Open";
+    public static final String STATUS_REOPENED = "Reopened";
+    public static final String STATUS_IN_PROGRESS = "InProgress";
+    public static final String STATUS_FAILED = "Failed";
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectProvider<IncidentHandler> handlers;
+
+    @Value("${incident.queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${incident.queue.workers:4}")
+    private int workers;
+
+    @Value("${incident.queue.batch-size:50}")
+    private int batchSize;
+
+    @Value("${incident.queue.open-age-days:5}")
+    private int openAgeDays;
+
+    @Value("${incident.queue.idle-ms:1000}")
+    private long idleMs;
+
+    @Value("${incident.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${incident.queue.retry-delay-ms:60000}")
+    private long retryDelayMs;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder failedIncidents = new LongAdder();
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        executor = Executors.newFixedThreadPool(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::workLoop);
+        }
+        log.info("incident queue started, {} workers, batch size {}", workers, batchSize);
+    }
+
+    /**
+     * Claims, handles and commits one batch in the calling thread. Returns the number of incidents claimed (handled
+     * or failed), 0 when nothing is left (or everything left is claimed by other workers).
+     */
+    public int pollOnce() {
+        Date openCutoff = new Date(System.currentTimeMillis() - Duration.ofDays(openAgeDays).toMillis());
+        IncidentHandler handler = handlers.getIfAvailable(() -> incident ->
+                log.info("incident {} ({}) picked up", incident.getId(), incident.getStatus()));
+
+        Integer count = transactionTemplate.execute(status -> {
+            List<Incident> batch = incidentRepository.claimBatch(STATUS_REOPENED, STATUS_OPEN, openCutoff, batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<Long> handled = new ArrayList<>();
+            List<Long> failed = new ArrayList<>();
+            List<Incident> remaining = batch;
+            int next = 0;
+            while (next < remaining.size()) {
+                Incident incident = remaining.get(next++);
+                Object savepoint = status.createSavepoint();
+                try {
+                    handler.handle(incident);
+                    // the handler's changes have to reach the database before the savepoint is released,
+                    // otherwise they are flushed at commit, outside of it
+                    entityManager.flush();
+                    status.releaseSavepoint(savepoint);
+                    handled.add(incident.getId());
+                } catch (RuntimeException e) {
+                    log.warn("incident {} failed, attempt {} of {}", incident.getId(), incident.getAttempts() + 1, maxAttempts, e);
+                    failed.add(incident.getId());
+                    // the savepoint only undoes the SQL: whatever the handler changed in the persistence context
+                    // (this incident or any other entity) is dropped too, and the rest of the batch is read again.
+                    // The rows stay locked, they belong to this transaction.
+                    status.rollbackToSavepoint(savepoint);
+                    entityManager.clear();
+                    remaining = reload(remaining.subList(next, remaining.size()));
+                    next = 0;
+                }
+            }
+            if (!handled.isEmpty()) {
+                incidentRepository.updateStatus(handled, STATUS_IN_PROGRESS);
+            }
+            if (!failed.isEmpty()) {
+                Date retryAt = new Date(System.currentTimeMillis() + retryDelayMs);
+                incidentRepository.recordFailure(failed, retryAt, maxAttempts, STATUS_FAILED);
+                failedIncidents.add(failed.size());
+            }
+            return batch.size();
+        });
+        if (count > 0) {
+            processed.add(count);
+            batches.increment();
+        }
+        return count;
+    }
+
+    // the given incidents again, in the same (claim) order
+    private List<Incident> reload(List<Incident> incidents) {
+        if (incidents.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = incidents.stream().map(Incident::getId).toList();
+        Map<Long, Incident> byId = new HashMap<>();
+        incidentRepository.findAllById(ids).forEach(incident -> byId.put(incident.getId(), incident));
+        return ids.stream().map(byId::get).toList();
+    }
+
+    private void workLoop() {
+        while (running) {
+            try {
+                // a full batch means there is probably more, poll again right away
+                if (pollOnce() < batchSize) {
+                    TimeUnit.MILLISECONDS.sleep(idleMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("incident batch failed, will be claimed again", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(idleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running);
+        stats.put("workers", workers);
+        stats.put("processed", processed.sum());
+        stats.put("batches", batches.sum());
+        stats.put("failedBatches", failedBatches.sum());
+        stats.put("failedIncidents", failedIncidents.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +15,41 @@ import java.util.List;
 
 public interface IncidentRepository extends JpaRepository<Incident, Long> {
 
+    /*
+     Triage feed: the OR below makes Postgres scan all Open rows (or the whole table) and sort them. Split into one
+     branch per status, each branch is a single range of idx_incident_status_created already in (created_date, id)
+     order, so every branch stops after :limit rows and the UNION ALL only merges 2 x :limit rows.
+     UNION ALL is safe because the two statuses never match the same row.
+     Keyset: the next page starts right after the last (created_date, id) seen, no OFFSET.
+     */
+    String TRIAGE_FEED_FIRST_PAGE = """
+            (SELECT * FROM incident
+             WHERE status = :statusReopened
+             ORDER BY created_date, id
+             LIMIT :limit)
+            UNION ALL
+            (SELECT * FROM incident
+             WHERE status = :statusOpen AND created_date < :date
+             ORDER BY created_date, id
+             LIMIT :limit)
+            ORDER BY created_date, id
+            LIMIT :limit
+            """;
+
+    String TRIAGE_FEED_NEXT_PAGE = """
+            (SELECT * FROM incident
+             WHERE status = :statusReopened AND (created_date, id) > (:afterDate, :afterId)
+             ORDER BY created_date, id
+             LIMIT :limit)
+            UNION ALL
+            (SELECT * FROM incident
+             WHERE status = :statusOpen AND created_date < :date AND (created_date, id) > (:afterDate, :afterId)
+             ORDER BY created_date, id
+             LIMIT :limit)
+            ORDER BY created_date, id
+            LIMIT :limit
+            """;
+
     @Query("SELECT t FROM Incident t WHERE t.status = :statusReopened " +
             "OR (t.status = :statusOpen AND t.createdDate < :date)")
     List<Incident> findIncidentsByStatusAndDate(
@@ -21,4 +57,51 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
             @Param("statusOpen") String statusOpen,
             @Param("date") Date date
     );
+
+    // same triage condition as above, but a worker only takes the oldest :limit rows nobody else has locked yet,
+    // skipping incidents whose handler failed until their retry time has come
+    @Query(value = """
+            SELECT * FROM incident
+            WHERE (status = :statusReopened OR (status = :statusOpen AND created_date < :date))
+              AND (next_attempt_at IS NULL OR next_attempt_at <= now())
+            ORDER BY created_date
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Incident> claimBatch(
+            @Param("statusReopened") String statusReopened,
+            @Param("statusOpen") String statusOpen,
+            @Param("date") Date date,
+            @Param("limit") int limit
+    );
+
+    @Query(value = TRIAGE_FEED_FIRST_PAGE, nativeQuery = true)
+    List<Incident> findTriageFeed(
+            @Param("statusReopened") String statusReopened,
+            @Param("statusOpen") String statusOpen,
+            @Param("date") Date date,
+            @Param("limit") int limit
+    );
+
+    @Query(value = TRIAGE_FEED_NEXT_PAGE, nativeQuery = true)
+    List<Incident> findTriageFeedAfter(
+            @Param("statusReopened") String statusReopened,
+            @Param("statusOpen") String statusOpen,
+            @Param("date") Date date,
+            @Param("afterDate") Date afterDate,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query("UPDATE Incident t SET t.status = :status WHERE t.id IN :ids")
+    int updateStatus(@Param("ids") List<Long> ids, @Param("status") String status);
+
+    // a failed handler run: try again after :retryAt, or park the incident in :deadLetterStatus after :maxAttempts runs
+    @Modifying
+    @Query("UPDATE Incident t SET t.attempts = t.attempts + 1, t.nextAttemptAt = :retryAt, " +
+            "t.status = CASE WHEN t.attempts + 1 >= :maxAttempts THEN :deadLetterStatus ELSE t.status END " +
+            "WHERE t.id IN :ids")
+    int recordFailure(@Param("ids") List<Long> ids, @Param("retryAt") Date retryAt,
+                      @Param("maxAttempts") int maxAttempts, @Param("deadLetterStatus") String deadLetterStatus);
 }
@@ -17,6 +17,25 @@ public class IncidentService {
         this.incidentRepository = incidentRepository;
     }
 
+    /**
+     * Keyset feed over the same condition as findIncidentsByStatusAndDate, oldest first, see
+     * IncidentRepository.TRIAGE_FEED_FIRST_PAGE. Reads size + 1 rows, the extra row only tells if there is a next page.
+     */
+    public IncidentFeedPage triageFeed(Date openBefore, String cursor, int size) {
+        int limit = size + 1;
+        List<Incident> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = incidentRepository.findTriageFeed("Reopened", "Open", openBefore, limit);
+        } else {
+            IncidentCursor after = IncidentCursor.decode(cursor);
+            rows = incidentRepository.findTriageFeedAfter("Reopened", "Open", openBefore, after.createdDate(), after.id(), limit);
+        }
+        boolean hasNext = rows.size() > size;
+        List<Incident> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? IncidentCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new IncidentFeedPage(items, nextCursor, hasNext);
+    }
+
     public void testQuery() {
         // Incident 1: Reopened ticket with today's date
 //        Incident incident1 = new Incident();
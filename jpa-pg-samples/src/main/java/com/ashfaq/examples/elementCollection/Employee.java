@@ -8,6 +8,7 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
+@EntityListeners(EmployeeSkillListener.class) // keeps EmployeeSkillIndex up to date
 public class Employee {
 
     @Id
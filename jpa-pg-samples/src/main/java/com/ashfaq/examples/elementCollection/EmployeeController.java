@@ -0,0 +1,46 @@
+package com.ashfaq.examples.elementCollection;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/employees")
+public class EmployeeController {
+
+    private static final int SEARCH_MAX_LIMIT = 1000;
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeSkillIndex skillIndex;
+
+    public EmployeeController(EmployeeService employeeService, EmployeeSkillIndex skillIndex) {
+        this.employeeService = employeeService;
+        this.skillIndex = skillIndex;
+    }
+
+    // GET /employees/search?skills=Java,Docker                 -> employees with Java AND Docker
+    // GET /employees/search?skills=Java,React&match=ANY         -> employees with Java OR React
+    // GET /employees/search?skills=Java&empCode=101&limit=20    -> same as findByEmpCodeAndSkill(101, "Java"), first 20
+    @GetMapping("/search")
+    public List<Employee> search(@RequestParam List<String> skills,
+                                 @RequestParam(defaultValue = "ALL") EmployeeSkillIndex.Match match,
+                                 @RequestParam(required = false) Integer empCode,
+                                 @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > SEARCH_MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + SEARCH_MAX_LIMIT);
+        }
+        return employeeService.searchBySkills(skills, match, empCode, limit);
+    }
+
+    @GetMapping("/skill-index/stats")
+    public Map<String, Object> skillIndexStats() {
+        return skillIndex.stats();
+    }
+}
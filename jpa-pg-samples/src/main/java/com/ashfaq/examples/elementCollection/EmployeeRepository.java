@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
@@ -17,6 +18,27 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             @Param("empCode") int empCode,
             @Param("skill") String skill
     );
+
+    // fallbacks of EmployeeSkillIndex.search while the index is not built yet
+    @Query("SELECT DISTINCT e.id FROM Employee e JOIN e.skills s " +
+            "WHERE s IN :skills AND (:empCode IS NULL OR e.empCode = :empCode) ORDER BY e.id")
+    List<Long> findIdsWithAnySkill(
+            @Param("skills") Collection<String> skills,
+            @Param("empCode") Integer empCode
+    );
+
+    @Query("SELECT e.id FROM Employee e JOIN e.skills s " +
+            "WHERE s IN :skills AND (:empCode IS NULL OR e.empCode = :empCode) " +
+            "GROUP BY e.id HAVING COUNT(DISTINCT s) = :skillCount ORDER BY e.id")
+    List<Long> findIdsWithAllSkills(
+            @Param("skills") Collection<String> skills,
+            @Param("empCode") Integer empCode,
+            @Param("skillCount") long skillCount
+    );
+
+    // hydrates only the final matches, skills in the same query instead of one select per employee
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.skills WHERE e.id IN :ids ORDER BY e.id")
+    List<Employee> findAllWithSkillsByIdIn(@Param("ids") Collection<Long> ids);
 }
 
 
@@ -3,15 +3,53 @@ package com.ashfaq.examples.elementCollection;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    private final EmployeeSkillIndex skillIndex;
+
+    public EmployeeService(EmployeeRepository employeeRepository, EmployeeSkillIndex skillIndex) {
         this.employeeRepository = employeeRepository;
+        this.skillIndex = skillIndex;
+    }
+
+    /**
+     * Employees having all (ALL) or any (ANY) of the skills, optionally only one empCode, ordered by id.
+     * Matching is done on the in-memory EmployeeSkillIndex, only the first `limit` matching ids are loaded and
+     * the loaded rows are checked against the criteria again.
+     */
+    public List<Employee> searchBySkills(Collection<String> skills, EmployeeSkillIndex.Match match, Integer empCode, int limit) {
+        if (skills.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids;
+        if (skillIndex.isReady()) {
+            ids = Arrays.stream(skillIndex.search(skills, match, empCode)).limit(limit).boxed().toList();
+        } else {
+            Set<String> distinct = new HashSet<>(skills);
+            ids = (match == EmployeeSkillIndex.Match.ALL
+                    ? employeeRepository.findIdsWithAllSkills(distinct, empCode, distinct.size())
+                    : employeeRepository.findIdsWithAnySkill(distinct, empCode))
+                    .stream().limit(limit).toList();
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // the index is updated after commit and rebuilt periodically, a row changed since then must not be returned
+        Set<String> wanted = new HashSet<>(skills);
+        return employeeRepository.findAllWithSkillsByIdIn(ids).stream()
+                .filter(employee -> empCode == null || employee.getEmpCode() == empCode)
+                .filter(employee -> match == EmployeeSkillIndex.Match.ALL
+                        ? employee.getSkills().containsAll(wanted)
+                        : employee.getSkills().stream().anyMatch(wanted::contains))
+                .toList();
     }
 
     public void testEmployeeQuery() {
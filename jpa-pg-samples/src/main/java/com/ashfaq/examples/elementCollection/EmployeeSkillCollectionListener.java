@@ -0,0 +1,68 @@
+package com.ashfaq.examples.elementCollection;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-indexes an employee whose skills collection was written without the employee row itself (skills added,
+ * removed or replaced, nothing else changed), which EmployeeSkillListener's @PostUpdate never sees. Registered with
+ * Hibernate's EventListenerRegistry at startup, applied after the transaction commits like the entity listener.
+ * A change of both ends up in the index twice, update is idempotent.
+ */
+@Component
+public class EmployeeSkillCollectionListener implements PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmployeeSkillIndex skillIndex;
+
+    public EmployeeSkillCollectionListener(EntityManagerFactory entityManagerFactory, EmployeeSkillIndex skillIndex) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.skillIndex = skillIndex;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    // a new or replaced collection (also every change of a bag that is not a plain add)
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        reindex(event);
+    }
+
+    // elements added to / removed from the existing collection
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        reindex(event);
+    }
+
+    // skills set to null; for a deleted employee @PostRemove runs after this and wins
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        reindex(event);
+    }
+
+    private void reindex(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof Employee employee && employee.getId() != null) {
+            EmployeeSkillListener.reindexAfterCommit(skillIndex, employee);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.ashfaq.examples.elementCollection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index skill -> sorted long[] of employee ids (optionally also per empCode), so skill searches
+ * are answered by merging id arrays instead of joining employee_skills.
+ *
+ * Posting arrays are never changed in place, a change replaces the array: readers need no lock. Writers
+ * (EmployeeSkillListener after commit, the rebuild swap) are serialized on the index.
+ * Built from employee_skills when the application is ready and rebuilt every employee.skill-index.rebuild-interval-ms
+ * to pick up writes that bypass JPA. Changes committed while a rebuild scans are replayed on the new index before
+ * it is swapped in.
+ */
+@Slf4j
+@Component
+public class EmployeeSkillIndex {
+
+    public enum Match { ALL, ANY }
+
+    private static final long[] NONE = new long[0];
+
+    private record Entry(int empCode, Set<String> skills) {
+    }
+
+    private static final class Postings {
+        final Map<String, long[]> bySkill = new ConcurrentHashMap<>();
+        final Map<Integer, Map<String, long[]>> byEmpCode = new ConcurrentHashMap<>();
+        final Map<Long, Entry> employees = new ConcurrentHashMap<>();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean partitionByEmpCode;
+
+    private volatile Postings postings = new Postings();
+    private volatile boolean ready;
+    private volatile long lastRebuildMillis;
+
+    // id -> latest state (null entry = removed) of employees changed while a rebuild is scanning, guarded by this
+    private Map<Long, Entry> changedDuringRebuild;
+
+    public EmployeeSkillIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${employee.skill-index.partition-by-emp-code:true}") boolean partitionByEmpCode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionByEmpCode = partitionByEmpCode;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids (ascending) of the employees having all / any of the skills, only those with the given empCode when it is
+     * not null. Skills are matched exactly, like the employee_skills query.
+     */
+    public long[] search(Collection<String> skills, Match match, Integer empCode) {
+        Postings current = postings;
+        List<long[]> lists = new ArrayList<>();
+        for (String skill : new LinkedHashSet<>(skills)) {
+            lists.add(postingsOf(current, skill, empCode));
+        }
+        if (lists.isEmpty()) {
+            return NONE;
+        }
+        long[] ids = match == Match.ALL ? intersectAll(lists) : unionAll(lists);
+        if (empCode != null && !partitionByEmpCode) {
+            ids = Arrays.stream(ids)
+                    .filter(id -> {
+                        Entry entry = current.employees.get(id);
+                        return entry != null && entry.empCode() == empCode;
+                    })
+                    .toArray();
+        }
+        return ids;
+    }
+
+    private long[] postingsOf(Postings current, String skill, Integer empCode) {
+        if (empCode != null && partitionByEmpCode) {
+            Map<String, long[]> partition = current.byEmpCode.get(empCode);
+            return partition == null ? NONE : partition.getOrDefault(skill, NONE);
+        }
+        return current.bySkill.getOrDefault(skill, NONE);
+    }
+
+    public synchronized void update(long id, int empCode, Collection<String> skills) {
+        Entry entry = new Entry(empCode, skills == null ? Set.of()
+                : skills.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()));
+        apply(postings, id, entry);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(id, entry);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        apply(postings, id, null);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(id, null);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${employee.skill-index.rebuild-interval-ms:3600000}", fixedDelayString = "${employee.skill-index.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            changedDuringRebuild = new HashMap<>();
+        }
+        Postings next = new Postings();
+        try {
+            scan(next);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            log.warn("employee skill index rebuild failed, keeping the previous index", e);
+            return;
+        }
+        synchronized (this) {
+            changedDuringRebuild.forEach((id, entry) -> apply(next, id, entry));
+            changedDuringRebuild = null;
+            postings = next;
+            ready = true;
+        }
+        lastRebuildMillis = System.currentTimeMillis();
+        log.info("employee skill index rebuilt: {} employees, {} skills, {} ms",
+                next.employees.size(), next.bySkill.size(), lastRebuildMillis - start);
+    }
+
+    // rows come in employee id order, so every posting list is built by appending
+    private void scan(Postings next) {
+        Map<String, LongBuffer> bySkill = new HashMap<>();
+        Map<Integer, Map<String, LongBuffer>> byEmpCode = new HashMap<>();
+        Map<Long, Set<String>> skillsOf = new HashMap<>();
+        Map<Long, Integer> empCodeOf = new HashMap<>();
+
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("""
+                    SELECT e.id, e.emp_code, s.skill
+                    FROM employee e
+                    JOIN employee_skills s ON s.employee_id = e.id
+                    ORDER BY e.id
+                    """);
+            statement.setFetchSize(10_000);
+            return statement;
+        }, rs -> {
+            long id = rs.getLong(1);
+            int empCode = rs.getInt(2);
+            String skill = rs.getString(3);
+            if (skill == null) {
+                return;
+            }
+            bySkill.computeIfAbsent(skill, k -> new LongBuffer()).add(id);
+            if (partitionByEmpCode) {
+                byEmpCode.computeIfAbsent(empCode, k -> new HashMap<>())
+                        .computeIfAbsent(skill, k -> new LongBuffer()).add(id);
+            }
+            skillsOf.computeIfAbsent(id, k -> new LinkedHashSet<>()).add(skill);
+            empCodeOf.put(id, empCode);
+        });
+
+        bySkill.forEach((skill, ids) -> next.bySkill.put(skill, ids.toArray()));
+        byEmpCode.forEach((empCode, skills) -> {
+            Map<String, long[]> partition = new ConcurrentHashMap<>();
+            skills.forEach((skill, ids) -> partition.put(skill, ids.toArray()));
+            next.byEmpCode.put(empCode, partition);
+        });
+        skillsOf.forEach((id, skills) -> next.employees.put(id, new Entry(empCodeOf.get(id), Set.copyOf(skills))));
+    }
+
+    // moves one employee from its old postings to the new ones, entry null = removed
+    private void apply(Postings target, long id, Entry entry) {
+        Entry old = entry == null ? target.employees.remove(id) : target.employees.put(id, entry);
+        if (old != null) {
+            for (String skill : old.skills()) {
+                if (entry == null || entry.empCode() != old.empCode() || !entry.skills().contains(skill)) {
+                    target.bySkill.computeIfPresent(skill, (k, ids) -> without(ids, id));
+                    if (partitionByEmpCode) {
+                        Map<String, long[]> partition = target.byEmpCode.get(old.empCode());
+                        if (partition != null) {
+                            partition.computeIfPresent(skill, (k, ids) -> without(ids, id));
+                        }
+                    }
+                }
+            }
+        }
+        if (entry != null) {
+            for (String skill : entry.skills()) {
+                if (old == null || old.empCode() != entry.empCode() || !old.skills().contains(skill)) {
+                    target.bySkill.compute(skill, (k, ids) -> with(ids, id));
+                    if (partitionByEmpCode) {
+                        target.byEmpCode.computeIfAbsent(entry.empCode(), k -> new ConcurrentHashMap<>())
+                                .compute(skill, (k, ids) -> with(ids, id));
+                    }
+                }
+            }
+        }
+    }
+
+    private static long[] with(long[] ids, long id) {
+        if (ids == null) {
+            return new long[]{id};
+        }
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int insertAt = -pos - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = id;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+        return copy;
+    }
+
+    // null removes the skill from the map once its last employee is gone
+    private static long[] without(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        System.arraycopy(ids, pos + 1, copy, pos, ids.length - pos - 1);
+        return copy;
+    }
+
+    // smallest list first, the running result only shrinks
+    static long[] intersectAll(List<long[]> lists) {
+        List<long[]> sorted = new ArrayList<>(lists);
+        sorted.sort(Comparator.comparingInt(ids -> ids.length));
+        long[] result = sorted.get(0);
+        for (int i = 1; i < sorted.size() && result.length > 0; i++) {
+            result = intersect(result, sorted.get(i));
+        }
+        return result;
+    }
+
+    // a much shorter than b: binary search each id of a in the rest of b, otherwise a linear merge
+    static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[a.length];
+        int n = 0;
+        if (b.length > 8 * a.length) {
+            int from = 0;
+            for (long id : a) {
+                int pos = Arrays.binarySearch(b, from, b.length, id);
+                if (pos >= 0) {
+                    out[n++] = id;
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    static long[] unionAll(List<long[]> lists) {
+        long[] result = NONE;
+        for (long[] ids : lists) {
+            result = union(result, ids);
+        }
+        return result;
+    }
+
+    static long[] union(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    public Map<String, Object> stats() {
+        Postings current = postings;
+        long entries = current.bySkill.values().stream().mapToLong(ids -> ids.length).sum();
+        long partitionEntries = current.byEmpCode.values().stream()
+                .flatMap(partition -> partition.values().stream())
+                .mapToLong(ids -> ids.length)
+                .sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("employees", current.employees.size());
+        stats.put("skills", current.bySkill.size());
+        stats.put("empCodePartitions", current.byEmpCode.size());
+        stats.put("postingEntries", entries + partitionEntries);
+        // id arrays only, map and string overhead not counted
+        stats.put("postingBytes", (entries + partitionEntries) * Long.BYTES);
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        return stats;
+    }
+
+    // growable long[] for the rebuild scan, skips an id repeated right after itself (same skill listed twice)
+    private static final class LongBuffer {
+        private long[] values = new long[8];
+        private int size;
+
+        void add(long value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
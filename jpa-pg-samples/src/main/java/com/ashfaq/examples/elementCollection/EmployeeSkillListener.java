@@ -0,0 +1,57 @@
+package com.ashfaq.examples.elementCollection;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps EmployeeSkillIndex in step with saved / deleted employees, applied after the transaction commits.
+ * Hibernate creates it through Spring (SpringBeanContainer), so the index can be injected.
+ * A change of the skills collection alone does not reach @PostUpdate: Employee has no @Version, so Hibernate only
+ * writes employee_skills and never updates the owner row. EmployeeSkillCollectionListener covers that case.
+ */
+public class EmployeeSkillListener {
+
+    @Autowired
+    private EmployeeSkillIndex skillIndex;
+
+    @PostPersist
+    @PostUpdate
+    void saved(Employee employee) {
+        reindexAfterCommit(skillIndex, employee);
+    }
+
+    static void reindexAfterCommit(EmployeeSkillIndex skillIndex, Employee employee) {
+        long id = employee.getId();
+        int empCode = employee.getEmpCode();
+        // copy now, the collection may not be readable any more once the session is closed
+        List<String> skills = employee.getSkills() == null ? List.of()
+                : employee.getSkills().stream().filter(Objects::nonNull).toList();
+        afterCommit(() -> skillIndex.update(id, empCode, skills));
+    }
+
+    @PostRemove
+    void removed(Employee employee) {
+        long id = employee.getId();
+        afterCommit(() -> skillIndex.remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package com.ashfaq.examples.locks.OptimisticLocking;
+
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and, when it loses an optimistic lock race (@Version clash),
+ * runs the whole transaction again with exponential backoff and full jitter, up to max-attempts.
+ * 
+ * Conflicts are tracked per key (e.g. the product id) as a decaying rate: every attempt moves it by decay towards
+ * 1 (conflict) or 0, so it follows the recent contention and not the whole history. Once a key has had at least
+ * min-samples attempts and its rate is above pessimistic-threshold, the pessimistic variant of the work is used for
+ * it instead: on a row that hot, waiting for a lock is cheaper than failing and retrying. A probe-rate share of the
+ * calls for such a key still goes the optimistic way, that keeps its rate current and lets it switch back once
+ * the contention is gone.
+ * At most max-keys keys are tracked, the least recently used ones are dropped beyond that.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final double pessimisticThreshold;
+    private final long minSamples;
+    private final double decay;
+    private final double probeRate;
+    private final int maxKeys;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder giveUps = new LongAdder();
+    private final LongAdder pessimisticRuns = new LongAdder();
+
+    private final Map<Object, KeyStats> perKey = new ConcurrentHashMap<>();
+
+    private static final class KeyStats {
+        private long samples;
+        private double conflictRate;
+        volatile long lastUsedNanos = System.nanoTime();
+
+        synchronized void record(boolean conflict, double decay) {
+            samples++;
+            conflictRate += decay * ((conflict ? 1 : 0) - conflictRate);
+        }
+
+        synchronized boolean hot(long minSamples, double threshold) {
+            return samples >= minSamples && conflictRate > threshold;
+        }
+    }
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   @Value("${optimistic.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${optimistic.retry.base-backoff-ms:10}") long baseBackoffMs,
+                                   @Value("${optimistic.retry.max-backoff-ms:500}") long maxBackoffMs,
+                                   @Value("${optimistic.retry.pessimistic-threshold:0.5}") double pessimisticThreshold,
+                                   @Value("${optimistic.retry.min-samples:20}") long minSamples,
+                                   @Value("${optimistic.retry.decay:0.1}") double decay,
+                                   @Value("${optimistic.retry.probe-rate:0.05}") double probeRate,
+                                   @Value("${optimistic.retry.max-keys:10000}") int maxKeys) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.pessimisticThreshold = pessimisticThreshold;
+        this.minSamples = minSamples;
+        this.decay = decay;
+        this.probeRate = probeRate;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @param key         what the work contends on, conflict rates are kept per key
+     * @param optimistic  the normal (@Version checked) work
+     * @param pessimistic the same work with a row lock, or null to never switch
+     */
+    public <T> T execute(Object key, Supplier<T> optimistic, Supplier<T> pessimistic) {
+        KeyStats stats = stats(key);
+        if (pessimistic != null && stats.hot(minSamples, pessimisticThreshold)
+                && ThreadLocalRandom.current().nextDouble() >= probeRate) {
+            pessimisticRuns.increment();
+            return transactionTemplate.execute(status -> pessimistic.get());
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                T result = transactionTemplate.execute(status -> optimistic.get());
+                stats.record(false, decay);
+                return result;
+            } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+                conflicts.increment();
+                stats.record(true, decay);
+                if (attempt >= maxAttempts) {
+                    giveUps.increment();
+                    log.warn("giving up on {} after {} conflicting attempts", key, attempt);
+                    throw e;
+                }
+                retries.increment();
+                sleep(backoff(attempt));
+            }
+        }
+    }
+
+    private KeyStats stats(Object key) {
+        KeyStats stats = perKey.get(key);
+        if (stats == null) {
+            stats = perKey.computeIfAbsent(key, k -> new KeyStats());
+            if (perKey.size() > maxKeys) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        stats.lastUsedNanos = System.nanoTime();
+        return stats;
+    }
+
+    // drops a tenth of the keys at once, the scan is paid once per maxKeys / 10 new keys and not on every new key
+    private synchronized void evictLeastRecentlyUsed() {
+        int excess = perKey.size() - maxKeys;
+        if (excess <= 0) {
+            return;
+        }
+        perKey.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastUsedNanos))
+                .limit(excess + maxKeys / 10)
+                .toList()
+                .forEach(e -> perKey.remove(e.getKey(), e.getValue()));
+    }
+
+    // full jitter: random(0, min(max, base * 2^attempt))
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long total = attempts.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("attempts", total);
+        stats.put("conflicts", conflicts.sum());
+        stats.put("retries", retries.sum());
+        stats.put("giveUps", giveUps.sum());
+        stats.put("pessimisticRuns", pessimisticRuns.sum());
+        stats.put("trackedKeys", perKey.size());
+        stats.put("conflictRate", total == 0 ? 0 : (double) conflicts.sum() / total);
+        return stats;
+    }
+}
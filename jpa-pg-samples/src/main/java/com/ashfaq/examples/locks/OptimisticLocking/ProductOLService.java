@@ -10,6 +10,9 @@ public class ProductOLService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
     @Transactional
     public void updateStock(Long productId, int quantityToAdd) {
         ProductOL product = productRepository.findById(productId)
@@ -19,5 +22,20 @@ public class ProductOLService {
         productRepository.save(product); // Will throw OptimisticLockException if versions clash
     }
 
+    // same update, but a version clash re-runs the whole transaction with backoff instead of failing the caller
+    public void updateStockWithRetry(Long productId, int quantityToAdd) {
+        retryExecutor.execute(productId,
+                () -> {
+                    updateStock(productId, quantityToAdd);
+                    return null;
+                },
+                () -> {
+                    ProductOL product = productRepository.findByIdForUpdate(productId)
+                            .orElseThrow(() -> new RuntimeException("Product not found"));
+                    product.setStock(product.getStock() + quantityToAdd);
+                    return null;
+                });
+    }
+
 
 }
@@ -1,6 +1,17 @@
 package com.ashfaq.examples.locks.OptimisticLocking;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<ProductOL, Long> {
+
+    // fallback for rows with too many optimistic conflicts, see OptimisticRetryExecutor
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ProductOL p WHERE p.id = :id")
+    Optional<ProductOL> findByIdForUpdate(@Param("id") Long id);
 }
@@ -1,16 +1,22 @@
 package com.ashfaq.examples.locks.OptimisticLocking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 public class StimulateController {
 
     @Autowired
     private ProductOLService productService;
 
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
     @PostMapping("/update-stock")
     public String simulateRaceCondition(@RequestParam Long productId, @RequestParam int quantity) {
         Runnable task = () -> {
@@ -29,4 +35,29 @@ public class StimulateController {
 
         return "Triggered two updates";
     }
+
+    // same race, conflicts are retried by OptimisticRetryExecutor
+    @PostMapping("/update-stock-retry")
+    public String simulateRaceConditionWithRetry(@RequestParam Long productId, @RequestParam int quantity) {
+        Runnable task = () -> {
+            try {
+                productService.updateStockWithRetry(productId, quantity);
+                System.out.println("Updated stock successfully");
+            } catch (Exception e) {
+                System.out.println("Update failed: " + e.getMessage());
+            }
+        };
+
+        Thread t1 = new Thread(task);
+        Thread t2 = new Thread(task);
+        t1.start();
+        t2.start();
+
+        return "Triggered two updates with retry";
+    }
+
+    @GetMapping("/update-stock-retry/stats")
+    public Map<String, Object> retryStats() {
+        return retryExecutor.stats();
+    }
 }
@@ -2,14 +2,17 @@ package com.ashfaq.examples.locks.PessimisticLocking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -21,12 +24,44 @@ public class InventoryController {
     @Autowired
     private InventoryService service;
 
+    @Autowired
+    private StripedInventoryService stripedService;
+
+    @Autowired
+    private PurchaseCoalescer coalescer;
+
+    // POST /inventory/buy/1                                  -> SELECT FOR UPDATE (default)
+    // POST /inventory/buy/1?strategy=CONDITIONAL_UPDATE       -> single conditional UPDATE
     @PostMapping("/buy/{id}")
-    public ResponseEntity<String> buyItem(@PathVariable Long id) {
-        String result = service.purchaseItem(id);
+    public ResponseEntity<String> buyItem(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "PESSIMISTIC") PurchaseStrategy strategy) {
+        String result = service.purchaseItem(id, strategy);
         return ResponseEntity.ok(result);
     }
 
+    // coalesced purchases, see PurchaseCoalescer - the request thread is released while the batch is collected
+    @PostMapping("/buy-coalesced/{id}")
+    public CompletableFuture<ResponseEntity<String>> buyItemCoalesced(@PathVariable Long id) {
+        return coalescer.purchase(id).thenApply(ResponseEntity::ok);
+    }
+
+    // striped stock mode, see StripedInventoryService
+    @PostMapping("/{id}/stripe")
+    public ResponseEntity<String> stripe(@PathVariable Long id, @RequestParam(defaultValue = "8") int slots) {
+        stripedService.stripe(id, slots);
+        return ResponseEntity.ok("Item " + id + " striped over " + slots + " slots");
+    }
+
+    @PostMapping("/buy-striped/{id}")
+    public ResponseEntity<String> buyItemStriped(@PathVariable Long id) {
+        return ResponseEntity.ok(stripedService.purchaseItem(id));
+    }
+
+    @GetMapping("/{id}/striped-stock")
+    public ResponseEntity<Long> stripedStock(@PathVariable Long id) {
+        return ResponseEntity.ok(stripedService.totalStock(id));
+    }
+
     @PostMapping("/simulate")
     public ResponseEntity<String> simulateTwoUsersBuying() {
         ExecutorService executor = Executors.newFixedThreadPool(2);
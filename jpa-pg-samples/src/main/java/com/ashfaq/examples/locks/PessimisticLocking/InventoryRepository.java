@@ -3,6 +3,7 @@ package com.ashfaq.examples.locks.PessimisticLocking;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,4 +14,9 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM InventoryItem i WHERE i.id = :id")
     Optional<InventoryItem> findByIdForUpdate(@Param("id") Long id);
+
+    // check and decrement in one statement, returns 1 when a unit was taken and 0 when there was none left
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity - 1 WHERE i.id = :id AND i.quantity > 0")
+    int decrementIfInStock(@Param("id") Long id);
 }
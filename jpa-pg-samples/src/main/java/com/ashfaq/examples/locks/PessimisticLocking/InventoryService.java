@@ -24,4 +24,25 @@ public class InventoryService {
 
         return "Purchase successful";
     }
+
+    @Transactional
+    public String purchaseItem(Long id, PurchaseStrategy strategy) {
+        return switch (strategy) {
+            case PESSIMISTIC -> purchaseItem(id);
+            case CONDITIONAL_UPDATE -> purchaseItemConditionalUpdate(id);
+        };
+    }
+
+    // UPDATE inventory_item SET quantity = quantity - 1 WHERE id = ? AND quantity > 0
+    // the row lock lives for this one statement, no SELECT before it
+    private String purchaseItemConditionalUpdate(Long id) {
+        if (repository.decrementIfInStock(id) == 1) {
+            return "Purchase successful";
+        }
+        // 0 rows: either sold out or no such item, only the failure path pays for the extra lookup
+        if (!repository.existsById(id)) {
+            throw new RuntimeException("Item not found");
+        }
+        return "Item out of stock";
+    }
 }
@@ -0,0 +1,34 @@
+package com.ashfaq.examples.locks.PessimisticLocking;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One stripe of an item's stock. In striped mode the quantity of an inventory_item is split over
+ * N slot rows, so N buyers can hold a row lock at the same time instead of queueing on one row.
+ */
+@Entity
+@Table(name = "inventory_slot",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"item_id", "slot_no"}),
+        indexes = @Index(name = "idx_inventory_slot_item", columnList = "item_id, quantity"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventorySlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long itemId;
+    private Integer slotNo;
+    private Integer quantity;
+}
@@ -0,0 +1,48 @@
+package com.ashfaq.examples.locks.PessimisticLocking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface InventorySlotRepository extends JpaRepository<InventorySlot, Long> {
+
+    // a random non-empty slot nobody else holds right now, buyers spread over the stripes instead of all trying slot 0
+    @Query(value = """
+            SELECT * FROM inventory_slot
+            WHERE item_id = :itemId AND quantity > 0
+            ORDER BY random()
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<InventorySlot> claimNonEmptySlot(@Param("itemId") Long itemId);
+
+    // every non-empty slot is locked by someone else: wait for one instead of reporting out of stock.
+    // Empty when the slot waited for was emptied meanwhile, even if other slots have stock (see purchaseItem)
+    @Query(value = """
+            SELECT * FROM inventory_slot
+            WHERE item_id = :itemId AND quantity > 0
+            ORDER BY slot_no
+            LIMIT 1
+            FOR UPDATE
+            """, nativeQuery = true)
+    Optional<InventorySlot> waitForNonEmptySlot(@Param("itemId") Long itemId);
+
+    // all slots of an item, locked in slot order (same order everywhere, no deadlocks between rebalancers)
+    @Query(value = "SELECT * FROM inventory_slot WHERE item_id = :itemId ORDER BY slot_no FOR UPDATE", nativeQuery = true)
+    List<InventorySlot> lockAllSlots(@Param("itemId") Long itemId);
+
+    // the slots of an item no buyer holds right now, the rebalancer works around the ones in use instead of waiting
+    @Query(value = "SELECT * FROM inventory_slot WHERE item_id = :itemId ORDER BY slot_no FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<InventorySlot> lockFreeSlots(@Param("itemId") Long itemId);
+
+    // plain read of the committed stock, no locks
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM InventorySlot s WHERE s.itemId = :itemId")
+    long sumQuantity(@Param("itemId") Long itemId);
+
+    // items with an empty slot while there is still at least one unit per slot: the only ones worth rebalancing
+    @Query("SELECT s.itemId FROM InventorySlot s GROUP BY s.itemId HAVING MIN(s.quantity) = 0 AND SUM(s.quantity) >= COUNT(s)")
+    List<Long> findSkewedItemIds();
+}
@@ -0,0 +1,108 @@
+package com.ashfaq.examples.locks.PessimisticLocking;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for hot items: purchase requests for the same item are collected for a short window
+ * (inventory.coalesce.window-ms) or until inventory.coalesce.max-batch requests are waiting, then applied
+ * together - one row lock, one decrement of the whole batch, one commit. The first "quantity" callers of a
+ * batch get "Purchase successful", the rest "Item out of stock".
+ * Each caller pays up to window-ms extra latency, in exchange a hot item needs one transaction per batch
+ * instead of one per buyer.
+ */
+@Slf4j
+@Component
+public class PurchaseCoalescer {
+
+    @Autowired
+    private InventoryRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final long windowMs;
+    private final int maxBatch;
+    private final ScheduledExecutorService executor;
+
+    // item id -> requests waiting for the next batch of that item
+    private final Map<Long, List<CompletableFuture<String>>> pending = new HashMap<>();
+
+    public PurchaseCoalescer(@Value("${inventory.coalesce.window-ms:5}") long windowMs,
+                             @Value("${inventory.coalesce.max-batch:100}") int maxBatch,
+                             @Value("${inventory.coalesce.threads:4}") int threads) {
+        this.windowMs = windowMs;
+        this.maxBatch = maxBatch;
+        this.executor = Executors.newScheduledThreadPool(threads);
+    }
+
+    public CompletableFuture<String> purchase(Long itemId) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        List<CompletableFuture<String>> full = null;
+        synchronized (pending) {
+            List<CompletableFuture<String>> batch = pending.get(itemId);
+            if (batch == null) {
+                List<CompletableFuture<String>> opened = new ArrayList<>();
+                pending.put(itemId, opened);
+                executor.schedule(() -> flush(itemId, opened), windowMs, TimeUnit.MILLISECONDS);
+                batch = opened;
+            }
+            batch.add(result);
+            if (batch.size() >= maxBatch) {
+                pending.remove(itemId);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            List<CompletableFuture<String>> ready = full;
+            executor.execute(() -> apply(itemId, ready));
+        }
+        return result;
+    }
+
+    // window elapsed - only flushes the batch it was scheduled for, a batch already sent because it was full is left alone
+    private void flush(Long itemId, List<CompletableFuture<String>> batch) {
+        synchronized (pending) {
+            if (!pending.remove(itemId, batch)) {
+                return;
+            }
+        }
+        apply(itemId, batch);
+    }
+
+    private void apply(Long itemId, List<CompletableFuture<String>> batch) {
+        try {
+            Integer allocated = transactionTemplate.execute(status -> {
+                InventoryItem item = repository.findByIdForUpdate(itemId)
+                        .orElseThrow(() -> new RuntimeException("Item not found"));
+                int taken = Math.min(Math.max(item.getQuantity(), 0), batch.size());
+                item.setQuantity(item.getQuantity() - taken);
+                return taken;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(i < allocated ? "Purchase successful" : "Item out of stock");
+            }
+            log.debug("item {} batch of {} applied, {} allocated", itemId, batch.size(), allocated);
+        } catch (RuntimeException e) {
+            batch.forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
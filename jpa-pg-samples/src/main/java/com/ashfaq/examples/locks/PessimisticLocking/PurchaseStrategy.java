@@ -0,0 +1,13 @@
+package com.ashfaq.examples.locks.PessimisticLocking;
+
+/**
+ * How InventoryService.purchaseItem takes one unit of stock.
+ */
+public enum PurchaseStrategy {
+
+    /** SELECT ... FOR UPDATE, check in Java, UPDATE - the row stays locked over three round trips */
+    PESSIMISTIC,
+
+    /** one UPDATE ... WHERE quantity > 0, decided by the affected row count - the row is locked for that statement only */
+    CONDITIONAL_UPDATE
+}
@@ -0,0 +1,105 @@
+package com.ashfaq.examples.locks.PessimisticLocking;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Striped stock: purchaseItem in InventoryService locks the single inventory_item row, so every buyer of a hot
+ * item waits for the one before. Here the stock of the item is moved into N inventory_slot rows and a buyer
+ * locks any non-empty slot nobody else holds (FOR UPDATE SKIP LOCKED), so up to N purchases run in parallel.
+ * Slots drain unevenly, the rebalancer evens them out again.
+ */
+@Slf4j
+@Service
+public class StripedInventoryService {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventorySlotRepository slotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Moves the current stock of the item into the given number of slots. The item row keeps quantity 0 while
+     * the item is striped, the stock is the sum of the slots.
+     */
+    @Transactional
+    public void stripe(Long itemId, int slots) {
+        InventoryItem item = inventoryRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        List<InventorySlot> existing = slotRepository.lockAllSlots(itemId);
+        int stock = item.getQuantity() + existing.stream().mapToInt(InventorySlot::getQuantity).sum();
+        slotRepository.deleteAll(existing);
+        slotRepository.flush();
+
+        for (int slot = 0; slot < slots; slot++) {
+            slotRepository.save(new InventorySlot(null, itemId, slot, share(stock, slots, slot)));
+        }
+        item.setQuantity(0);
+        log.info("item {} striped over {} slots, stock {}", itemId, slots, stock);
+    }
+
+    /**
+     * Claims a free non-empty slot, or waits for a busy one. The wait can come back empty even though other slots
+     * still have stock: when the locked row is emptied by its holder, Postgres re-checks it, drops it and does not
+     * look for the next row of the LIMIT 1. So the buyer starts over and only reports out of stock once the
+     * committed sum of all slots is 0.
+     */
+    @Transactional
+    public String purchaseItem(Long itemId) {
+        while (true) {
+            InventorySlot slot = slotRepository.claimNonEmptySlot(itemId)
+                    .or(() -> slotRepository.waitForNonEmptySlot(itemId))
+                    .orElse(null);
+            if (slot != null) {
+                slot.setQuantity(slot.getQuantity() - 1);
+                return "Purchase successful";
+            }
+            if (slotRepository.sumQuantity(itemId) == 0) {
+                return "Item out of stock";
+            }
+        }
+    }
+
+    // committed stock, a snapshot read: neither waits for buyers nor blocks them
+    public long totalStock(Long itemId) {
+        return slotRepository.sumQuantity(itemId);
+    }
+
+    /**
+     * Spreads the remaining stock evenly over the slots of the item that no buyer holds right now (SKIP LOCKED),
+     * slots in use keep their quantity and are evened out by a later run.
+     */
+    @Transactional
+    public void rebalance(Long itemId) {
+        List<InventorySlot> slots = slotRepository.lockFreeSlots(itemId);
+        if (slots.size() < 2) {
+            return;
+        }
+        int stock = slots.stream().mapToInt(InventorySlot::getQuantity).sum();
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).setQuantity(share(stock, slots.size(), i));
+        }
+    }
+
+    // one aggregate query finds the skewed items, each one is rebalanced in its own short transaction
+    @Scheduled(fixedDelayString = "${inventory.striped.rebalance-interval-ms:1000}")
+    public void rebalanceAll() {
+        for (Long itemId : slotRepository.findSkewedItemIds()) {
+            transactionTemplate.executeWithoutResult(status -> rebalance(itemId));
+        }
+    }
+
+    private static int share(int stock, int slots, int slot) {
+        return stock / slots + (slot < stock % slots ? 1 : 0);
+    }
+}
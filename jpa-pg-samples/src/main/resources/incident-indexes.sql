@@ -0,0 +1,18 @@
+-- Run by hand (psql -f incident-indexes.sql), it is not part of the startup.
+-- idx_incident_status_created (status, created_date, id) is created by Hibernate from the @Table mapping of Incident.
+-- Optional, when Open/Reopened are a small part of the table: partial indexes only hold the rows the triage
+-- feed and the work queue can ever return, so they stay small while Closed incidents pile up.
+
+CREATE INDEX IF NOT EXISTS idx_incident_reopened_created ON incident (created_date, id) WHERE status = 'Reopened';
+
+CREATE INDEX IF NOT EXISTS idx_incident_open_created ON incident (created_date, id) WHERE status = 'Open';
+
+ANALYZE incident;
+
+-- check: both branches should show an Index Scan and there should be no Sort over the whole table
+EXPLAIN ANALYZE
+(SELECT * FROM incident WHERE status = 'Reopened' ORDER BY created_date, id LIMIT 50)
+UNION ALL
+(SELECT * FROM incident WHERE status = 'Open' AND created_date < now() - interval '5 days' ORDER BY created_date, id LIMIT 50)
+ORDER BY created_date, id
+LIMIT 50;
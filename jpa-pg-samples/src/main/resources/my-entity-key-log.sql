@@ -0,0 +1,29 @@
+-- Change log for MyEntityExistenceFilter: every key written to labschema.my_entity - through JPA, a SQL script or
+-- another instance - is appended by the trigger and polled by the filter in (xid, seq) order.
+-- xid is the writing transaction: once it is older than every running transaction (pg_snapshot_xmin) no entry with
+-- a lower xid can show up any more, seq alone does not say that (it is handed out before commit).
+-- Run by the filter at startup when entity.bloom.enabled=true, as one script (dollar quoting), every statement is
+-- idempotent. CREATE OR REPLACE TRIGGER needs Postgres 14+.
+
+CREATE TABLE IF NOT EXISTS labschema.my_entity_key_log (
+    seq       BIGSERIAL PRIMARY KEY,
+    id1       BIGINT       NOT NULL,
+    id2       VARCHAR(255) NOT NULL,
+    logged_at TIMESTAMPTZ  NOT NULL DEFAULT clock_timestamp()
+);
+
+ALTER TABLE labschema.my_entity_key_log
+    ADD COLUMN IF NOT EXISTS xid BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint;
+
+CREATE INDEX IF NOT EXISTS my_entity_key_log_xid_seq ON labschema.my_entity_key_log (xid, seq);
+
+CREATE OR REPLACE FUNCTION labschema.log_my_entity_key() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO labschema.my_entity_key_log (id1, id2) VALUES (NEW.id1, NEW.id2);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER my_entity_key_log
+    AFTER INSERT OR UPDATE OF id1, id2 ON labschema.my_entity
+    FOR EACH ROW EXECUTE FUNCTION labschema.log_my_entity_key();
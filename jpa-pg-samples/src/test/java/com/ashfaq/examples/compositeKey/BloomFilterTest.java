@@ -0,0 +1,93 @@
+package com.ashfaq.examples.compositeKey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void sizedFromExpectedInsertionsAndRate() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+        // m = -n ln(p) / ln(2)^2 = 9.59 bits per key, k = 7
+        assertEquals(9_585_059, filter.bitSize());
+        assertEquals(7, filter.hashFunctions());
+        assertEquals(filter.bitSize() / 8, filter.memoryBytes(), 8);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(KEYS, 0.01);
+        for (long id = 0; id < KEYS; id++) {
+            assertFalse(filter.mightContain(MyEntityExistenceFilter.hash(id, "A" + id)));
+        }
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void neverForgetsAKey() {
+        BloomFilter filter = BloomFilter.create(KEYS, 0.01);
+        for (long id = 0; id < KEYS; id++) {
+            filter.put(MyEntityExistenceFilter.hash(id, "A" + id));
+        }
+        for (long id = 0; id < KEYS; id++) {
+            assertTrue(filter.mightContain(MyEntityExistenceFilter.hash(id, "A" + id)), "key " + id);
+        }
+        assertEquals(KEYS, filter.insertions());
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(KEYS, 0.01);
+        for (long id = 0; id < KEYS; id++) {
+            filter.put(MyEntityExistenceFilter.hash(id, "A" + id));
+        }
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (long id = 0; id < probes; id++) {
+            if (filter.mightContain(MyEntityExistenceFilter.hash(id, "B" + id))) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < 0.02, "observed false positive rate " + observed);
+        assertTrue(Math.abs(filter.expectedFalsePositiveRate() - 0.01) < 0.005,
+                "expected false positive rate " + filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void concurrentPutsLoseNoBits() throws Exception {
+        BloomFilter filter = BloomFilter.create(4 * KEYS, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long from = (long) t * KEYS;
+                futures.add(executor.submit(() -> {
+                    for (long id = from; id < from + KEYS; id++) {
+                        filter.put(MyEntityExistenceFilter.hash(id, "A"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (long id = 0; id < 4L * KEYS; id++) {
+            assertTrue(filter.mightContain(MyEntityExistenceFilter.hash(id, "A")), "key " + id);
+        }
+        assertEquals(4L * KEYS, filter.insertions());
+    }
+}
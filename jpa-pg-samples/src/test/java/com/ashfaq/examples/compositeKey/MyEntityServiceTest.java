@@ -0,0 +1,209 @@
+package com.ashfaq.examples.compositeKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * checkIfExists(List) against an in-memory table: the JdbcTemplate stub answers the unnest query itself, the filter
+ * stub rules out every key with id1 divisible by 7. No database needed.
+ */
+class MyEntityServiceTest {
+
+    private static final int CHUNK_SIZE = 10;
+
+    private final Set<MyEntityId> table = new HashSet<>();
+    private final StubJdbcTemplate jdbcTemplate = new StubJdbcTemplate();
+    private final StubFilter filter = new StubFilter();
+    private final MyEntityService service = new MyEntityService(null, filter, jdbcTemplate, CHUNK_SIZE, 3);
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void manyChunksMergeIntoInputPositions() {
+        // every third key exists, scattered over the whole input
+        List<MyEntityId> keys = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            MyEntityId key = new MyEntityId(i, "K" + i);
+            keys.add(key);
+            if (i % 3 == 0) {
+                table.add(key);
+            }
+        }
+
+        BitSet existing = service.checkIfExists(keys);
+
+        BitSet expected = new BitSet();
+        int candidates = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            MyEntityId key = keys.get(i);
+            if (key.getId1() % 7 != 0) {
+                candidates++;
+                if (table.contains(key)) {
+                    expected.set(i);
+                }
+            }
+        }
+        assertEquals(expected, existing);
+
+        // one query per chunk of candidates, on the chunk threads, none of them with a key the filter ruled out
+        assertEquals((candidates + CHUNK_SIZE - 1) / CHUNK_SIZE, jdbcTemplate.queries.size());
+        int sent = 0;
+        for (Query query : jdbcTemplate.queries) {
+            assertTrue(query.keys.size() <= CHUNK_SIZE);
+            assertTrue(query.thread.startsWith("entity-exists-"), query.thread);
+            query.keys.forEach(key -> assertTrue(key.getId1() % 7 != 0, "ruled out key sent: " + key.getId1()));
+            sent += query.keys.size();
+        }
+        assertEquals(candidates, sent);
+
+        assertEquals(candidates, filter.databaseChecks.sum());
+        assertEquals(candidates - expected.cardinality(), filter.falsePositives.sum());
+    }
+
+    @Test
+    void nullAndPartialKeysAreNeverSent() {
+        table.add(new MyEntityId(1L, "A"));
+        table.add(new MyEntityId(14L, "B"));
+        List<MyEntityId> keys = Arrays.asList(
+                null,
+                new MyEntityId(null, "A"),
+                new MyEntityId(1L, null),
+                new MyEntityId(1L, "A"),
+                new MyEntityId(14L, "B"),
+                new MyEntityId(2L, "C"));
+
+        BitSet existing = service.checkIfExists(keys);
+
+        // (14, B) exists, but the filter says no: the answer is the filter's
+        assertEquals(BitSet.valueOf(new long[]{1L << 3}), existing);
+        assertEquals(1, jdbcTemplate.queries.size());
+        Query query = jdbcTemplate.queries.peek();
+        assertEquals(List.of(new MyEntityId(1L, "A"), new MyEntityId(2L, "C")), query.keys);
+        // small batches run in the calling thread
+        assertEquals(Thread.currentThread().getName(), query.thread);
+        assertEquals(2, filter.databaseChecks.sum());
+        assertEquals(1, filter.falsePositives.sum());
+    }
+
+    @Test
+    void everyKeyRuledOutRunsNoQuery() {
+        List<MyEntityId> keys = List.of(new MyEntityId(7L, "A"), new MyEntityId(21L, "B"));
+
+        BitSet existing = service.checkIfExists(keys);
+
+        assertTrue(existing.isEmpty());
+        assertTrue(jdbcTemplate.queries.isEmpty());
+        assertEquals(0, filter.databaseChecks.sum());
+    }
+
+    @Test
+    void emptyInput() {
+        assertTrue(service.checkIfExists(List.of()).isEmpty());
+        assertTrue(jdbcTemplate.queries.isEmpty());
+    }
+
+    private record Query(List<MyEntityId> keys, String thread) {
+    }
+
+    private static class StubFilter extends MyEntityExistenceFilter {
+
+        private final LongAdder databaseChecks = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+
+        StubFilter() {
+            super(null, true, 0.01, 10, 2.0, 3_600_000);
+        }
+
+        @Override
+        public boolean mightExist(Long id1, String id2) {
+            return id1 % 7 != 0;
+        }
+
+        @Override
+        public void recordDatabaseCheck(boolean exists) {
+            databaseChecks.increment();
+            if (!exists) {
+                falsePositives.increment();
+            }
+        }
+    }
+
+    // runs the statement creator against proxies that capture the two arrays, answers with the 1-based positions found
+    private class StubJdbcTemplate extends JdbcTemplate {
+
+        private final Queue<Query> queries = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public <T> List<T> query(PreparedStatementCreator creator, RowMapper<T> rowMapper) {
+            Object[][] arrays = new Object[2][];
+            Connection connection = proxy(Connection.class, (method, args) -> switch (method) {
+                case "createArrayOf" -> proxy(Array.class, (arrayMethod, arrayArgs) -> args[1]);
+                case "prepareStatement" -> proxy(PreparedStatement.class, (statementMethod, statementArgs) -> {
+                    if (statementMethod.equals("setArray")) {
+                        Array array = (Array) statementArgs[1];
+                        try {
+                            arrays[(Integer) statementArgs[0] - 1] = (Object[]) array.getArray();
+                        } catch (SQLException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                    return null;
+                });
+                default -> throw new UnsupportedOperationException(method);
+            });
+            try {
+                creator.createPreparedStatement(connection);
+                List<MyEntityId> keys = new ArrayList<>();
+                List<T> rows = new ArrayList<>();
+                for (int i = 0; i < arrays[0].length; i++) {
+                    MyEntityId key = new MyEntityId((Long) arrays[0][i], (String) arrays[1][i]);
+                    keys.add(key);
+                    if (table.contains(key)) {
+                        long pos = i + 1;
+                        ResultSet rs = proxy(ResultSet.class, (rsMethod, rsArgs) -> pos);
+                        rows.add(rowMapper.mapRow(rs, rows.size()));
+                    }
+                }
+                queries.add(new Query(keys, Thread.currentThread().getName()));
+                return rows;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private interface Call {
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Call call) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> call.invoke(method.getName(), args));
+    }
+}
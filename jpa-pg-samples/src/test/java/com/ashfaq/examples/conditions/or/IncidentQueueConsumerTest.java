@@ -0,0 +1,133 @@
+package com.ashfaq.examples.conditions.or;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Two consumers drain the same queue: every incident reaches the handler exactly once, handled incidents keep what
+ * the handler wrote, failed ones keep nothing of it. Needs Docker for the Postgres container, skipped without it.
+ */
+@SpringBootTest(properties = {"incident.queue.batch-size=25", "incident.queue.retry-delay-ms=600000"})
+@Testcontainers(disabledWithoutDocker = true)
+class IncidentQueueConsumerTest {
+
+    private static final int INCIDENTS = 1000;
+
+    // what the handler writes into every incident it handles, must survive only for the ones that did not fail
+    private static final Timestamp HANDLED_MARK = Timestamp.valueOf("2030-01-01 00:00:00");
+
+    private static final Map<Long, AtomicInteger> CALLS = new ConcurrentHashMap<>();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @TestConfiguration
+    static class Handler {
+
+        @Bean
+        IncidentHandler recordingHandler() {
+            return incident -> {
+                CALLS.computeIfAbsent(incident.getId(), id -> new AtomicInteger()).incrementAndGet();
+                if (fails(incident.getId())) {
+                    incident.setStatus("Broken");
+                    throw new IllegalStateException("handler failed for " + incident.getId());
+                }
+                incident.setNextAttemptAt(HANDLED_MARK);
+                try {
+                    // let the two consumers overlap
+                    TimeUnit.MILLISECONDS.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IncidentQueueConsumer consumer;
+
+    private static boolean fails(long id) {
+        return id % 50 == 7;
+    }
+
+    @BeforeEach
+    void seed() {
+        CALLS.clear();
+        jdbcTemplate.execute("TRUNCATE incident RESTART IDENTITY");
+        jdbcTemplate.update("""
+                INSERT INTO incident (status, created_date, attempts)
+                SELECT 'Reopened', timestamp '2025-01-01' + g * interval '1 minute', 0
+                FROM generate_series(1, ?) g
+                """, INCIDENTS);
+    }
+
+    @Test
+    void twoConsumersHandleEveryIncidentExactlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> consumers = List.of(executor.submit(this::drain), executor.submit(this::drain));
+            int claimed = 0;
+            for (Future<Integer> drained : consumers) {
+                claimed += drained.get(2, TimeUnit.MINUTES);
+            }
+            assertEquals(INCIDENTS, claimed);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(INCIDENTS, CALLS.size());
+        CALLS.forEach((id, calls) -> assertEquals(1, calls.get(), "handler calls for incident " + id));
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, status, attempts, next_attempt_at FROM incident ORDER BY id");
+        assertEquals(INCIDENTS, rows.size());
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("id")).longValue();
+            if (fails(id)) {
+                assertEquals(IncidentQueueConsumer.STATUS_REOPENED, row.get("status"), "failed incident " + id);
+                assertEquals(1, ((Number) row.get("attempts")).intValue(), "failed incident " + id);
+                assertNotEquals(HANDLED_MARK, row.get("next_attempt_at"), "failed incident " + id);
+            } else {
+                assertEquals(IncidentQueueConsumer.STATUS_IN_PROGRESS, row.get("status"), "incident " + id);
+                assertEquals(0, ((Number) row.get("attempts")).intValue(), "incident " + id);
+                assertEquals(HANDLED_MARK, row.get("next_attempt_at"), "incident " + id);
+            }
+        }
+    }
+
+    // polls until nothing is left to claim, returns the number of incidents this consumer claimed
+    private int drain() {
+        int claimed = 0;
+        int batch;
+        while ((batch = consumer.pollOnce()) > 0) {
+            claimed += batch;
+        }
+        return claimed;
+    }
+}
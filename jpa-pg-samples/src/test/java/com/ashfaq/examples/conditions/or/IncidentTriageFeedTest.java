@@ -0,0 +1,105 @@
+package com.ashfaq.examples.conditions.or;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the UNION ALL triage feed against the original OR query and checks with EXPLAIN that both branches are
+ * index range scans. Needs Docker for the Postgres container, skipped without it.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class IncidentTriageFeedTest {
+
+    // 50k incidents, 2% Open, 2% Reopened, three incidents per minute so the keyset has to break ties on id
+    private static final String SEED = """
+            INSERT INTO incident (status, created_date)
+            SELECT CASE WHEN g % 50 = 0 THEN 'Open' WHEN g % 50 = 1 THEN 'Reopened' ELSE 'Closed' END,
+                   timestamp '2025-01-01' + (g / 3) * interval '1 minute'
+            FROM generate_series(1, 50000) g
+            """;
+
+    private static final Timestamp OPEN_BEFORE = Timestamp.valueOf("2025-01-06 00:00:00");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE incident RESTART IDENTITY");
+        jdbcTemplate.execute(SEED);
+        jdbcTemplate.execute("ANALYZE incident");
+    }
+
+    @Test
+    void feedReturnsSameIncidentsAsOrQueryInKeysetOrder() {
+        List<Long> expected = incidentRepository.findIncidentsByStatusAndDate("Reopened", "Open", OPEN_BEFORE).stream()
+                .sorted(Comparator.comparing(Incident::getCreatedDate).thenComparing(Incident::getId))
+                .map(Incident::getId)
+                .toList();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            IncidentFeedPage page = incidentService.triageFeed(OPEN_BEFORE, cursor, 37);
+            page.items().forEach(incident -> paged.add(incident.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, paged);
+        assertEquals(paged.size(), new HashSet<>(paged).size(), "no incident on two pages");
+    }
+
+    @Test
+    void bothBranchesAreIndexRangeScans() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statusReopened", "Reopened")
+                .addValue("statusOpen", "Open")
+                .addValue("date", OPEN_BEFORE)
+                .addValue("afterDate", Timestamp.valueOf("2025-01-03 00:00:00"))
+                .addValue("afterId", 0L)
+                .addValue("limit", 51);
+
+        for (String query : List.of(IncidentRepository.TRIAGE_FEED_FIRST_PAGE, IncidentRepository.TRIAGE_FEED_NEXT_PAGE)) {
+            String plan = String.join("\n", namedJdbcTemplate.queryForList("EXPLAIN " + query, params, String.class));
+
+            assertFalse(plan.contains("Seq Scan"), plan);
+            assertTrue(plan.contains("Index Scan using idx_incident_status_created"), plan);
+            assertTrue(plan.indexOf("idx_incident_status_created") != plan.lastIndexOf("idx_incident_status_created"),
+                    "one index range per status\n" + plan);
+        }
+    }
+}
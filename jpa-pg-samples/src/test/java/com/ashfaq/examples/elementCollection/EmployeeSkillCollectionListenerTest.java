@@ -0,0 +1,86 @@
+package com.ashfaq.examples.elementCollection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Changes that only touch employee_skills (no @Version on Employee, so no owner update and no @PostUpdate) still
+ * reach EmployeeSkillIndex. Needs Docker for the Postgres container, skipped without it.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeSkillCollectionListenerTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeSkillIndex skillIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long id;
+
+    @BeforeEach
+    void save() {
+        jdbcTemplate.execute("TRUNCATE employee, employee_skills");
+        // the truncate bypasses the listeners, start every test from the (empty) table
+        skillIndex.rebuild();
+        Employee employee = new Employee();
+        employee.setName("Ada");
+        employee.setEmpCode(10);
+        employee.setSkills(new ArrayList<>(List.of("Java")));
+        id = employeeRepository.save(employee).getId();
+    }
+
+    @Test
+    void skillAddedToTheCollection() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepository.findById(id).orElseThrow().getSkills().add("Go"));
+
+        assertArrayEquals(new long[]{id}, skillIndex.search(List.of("Java", "Go"), EmployeeSkillIndex.Match.ALL, 10));
+    }
+
+    @Test
+    void skillRemovedFromTheCollection() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepository.findById(id).orElseThrow().getSkills().remove("Java"));
+
+        assertArrayEquals(new long[]{}, skillIndex.search(List.of("Java"), EmployeeSkillIndex.Match.ANY, null));
+    }
+
+    @Test
+    void collectionReplaced() {
+        transactionTemplate.executeWithoutResult(status ->
+                employeeRepository.findById(id).orElseThrow().setSkills(new ArrayList<>(List.of("Rust"))));
+
+        assertArrayEquals(new long[]{}, skillIndex.search(List.of("Java"), EmployeeSkillIndex.Match.ANY, null));
+        assertArrayEquals(new long[]{id}, skillIndex.search(List.of("Rust"), EmployeeSkillIndex.Match.ANY, 10));
+    }
+
+    @Test
+    void deletedEmployeeLeavesTheIndex() {
+        employeeRepository.deleteById(id);
+
+        assertArrayEquals(new long[]{}, skillIndex.search(List.of("Java"), EmployeeSkillIndex.Match.ANY, null));
+    }
+}
@@ -0,0 +1,185 @@
+package com.ashfaq.examples.elementCollection;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSkillIndexTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void intersectKeepsCommonIdsInOrder() {
+        assertArrayEquals(new long[]{3, 7}, EmployeeSkillIndex.intersect(new long[]{1, 3, 5, 7}, new long[]{2, 3, 7, 9}));
+        assertArrayEquals(new long[]{}, EmployeeSkillIndex.intersect(new long[]{1, 2}, new long[]{3, 4}));
+        assertArrayEquals(new long[]{}, EmployeeSkillIndex.intersect(new long[]{}, new long[]{1, 2}));
+    }
+
+    // b more than 8 times longer than a: binary search instead of the merge
+    @Test
+    void intersectOfShortAndLongList() {
+        long[] longList = LongStream.range(0, 1_000).map(i -> i * 2).toArray();
+        assertArrayEquals(new long[]{0, 500, 1998}, EmployeeSkillIndex.intersect(new long[]{0, 1, 500, 501, 1998, 5000}, longList));
+    }
+
+    @Test
+    void unionMergesWithoutDuplicates() {
+        assertArrayEquals(new long[]{1, 2, 3, 5, 7, 9}, EmployeeSkillIndex.union(new long[]{1, 3, 5, 7}, new long[]{2, 3, 7, 9}));
+        assertArrayEquals(new long[]{1, 2}, EmployeeSkillIndex.union(new long[]{}, new long[]{1, 2}));
+        assertArrayEquals(new long[]{}, EmployeeSkillIndex.unionAll(List.of()));
+    }
+
+    @Test
+    void intersectAllAndUnionAllMatchSetSemantics() {
+        for (int round = 0; round < 200; round++) {
+            List<long[]> lists = List.of(randomIds(), randomIds(), randomIds());
+
+            TreeSet<Long> all = toSet(lists.get(0));
+            TreeSet<Long> any = new TreeSet<>();
+            for (long[] ids : lists) {
+                all.retainAll(toSet(ids));
+                any.addAll(toSet(ids));
+            }
+
+            assertArrayEquals(toArray(all), EmployeeSkillIndex.intersectAll(lists));
+            assertArrayEquals(toArray(any), EmployeeSkillIndex.unionAll(lists));
+        }
+    }
+
+    @Test
+    void skillAdded() {
+        for (EmployeeSkillIndex index : bothModes()) {
+            index.update(1, 10, List.of("Java"));
+            index.update(2, 10, List.of("Java", "Go"));
+            index.update(1, 10, List.of("Java", "Go"));
+
+            assertArrayEquals(new long[]{1, 2}, index.search(List.of("Go"), EmployeeSkillIndex.Match.ALL, null));
+            assertArrayEquals(new long[]{1, 2}, index.search(List.of("Go"), EmployeeSkillIndex.Match.ALL, 10));
+            assertArrayEquals(new long[]{1, 2}, index.search(List.of("Java", "Go"), EmployeeSkillIndex.Match.ALL, null));
+        }
+    }
+
+    @Test
+    void skillRemoved() {
+        for (EmployeeSkillIndex index : bothModes()) {
+            index.update(1, 10, List.of("Java", "Go"));
+            index.update(1, 10, List.of("Java"));
+
+            assertArrayEquals(new long[]{}, index.search(List.of("Go"), EmployeeSkillIndex.Match.ANY, null));
+            assertArrayEquals(new long[]{}, index.search(List.of("Go"), EmployeeSkillIndex.Match.ANY, 10));
+            assertArrayEquals(new long[]{1}, index.search(List.of("Java"), EmployeeSkillIndex.Match.ANY, 10));
+            // the last holder is gone, so is the posting list
+            assertEquals(1, index.stats().get("skills"));
+        }
+    }
+
+    @Test
+    void empCodeMovedBetweenPartitions() {
+        for (EmployeeSkillIndex index : bothModes()) {
+            index.update(1, 10, List.of("Java"));
+            index.update(2, 10, List.of("Java"));
+            index.update(1, 20, List.of("Java"));
+
+            assertArrayEquals(new long[]{2}, index.search(List.of("Java"), EmployeeSkillIndex.Match.ALL, 10));
+            assertArrayEquals(new long[]{1}, index.search(List.of("Java"), EmployeeSkillIndex.Match.ALL, 20));
+            assertArrayEquals(new long[]{1, 2}, index.search(List.of("Java"), EmployeeSkillIndex.Match.ALL, null));
+        }
+    }
+
+    @Test
+    void removeDropsEveryPosting() {
+        for (EmployeeSkillIndex index : bothModes()) {
+            index.update(1, 10, List.of("Java", "Go"));
+            index.update(2, 10, List.of("Go"));
+            index.remove(1);
+            // unknown id: nothing to do
+            index.remove(99);
+
+            assertArrayEquals(new long[]{}, index.search(List.of("Java"), EmployeeSkillIndex.Match.ANY, null));
+            assertArrayEquals(new long[]{2}, index.search(List.of("Java", "Go"), EmployeeSkillIndex.Match.ANY, 10));
+            assertEquals(1, index.stats().get("employees"));
+        }
+    }
+
+    // commits that land while the scan runs are replayed on the new index, the scan's older view of them is dropped
+    @Test
+    void rebuildReplaysChangesMadeDuringTheScan() {
+        for (boolean partition : new boolean[]{true, false}) {
+            EmployeeSkillIndex[] index = new EmployeeSkillIndex[1];
+            Object[][] rows = {{1L, 10, "Java"}, {2L, 10, "Go"}, {3L, 20, "Java"}};
+            JdbcTemplate scan = new JdbcTemplate() {
+                @Override
+                public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+                    try {
+                        for (Object[] row : rows) {
+                            handler.processRow(resultSet(row));
+                            if (row[0].equals(2L)) {
+                                index[0].update(2, 10, List.of("Rust"));
+                                index[0].remove(3);
+                                index[0].update(4, 30, List.of("Java"));
+                            }
+                        }
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+            index[0] = new EmployeeSkillIndex(scan, partition);
+            index[0].update(3, 20, List.of("Java"));
+
+            index[0].rebuild();
+
+            assertTrue(index[0].isReady());
+            assertArrayEquals(new long[]{1, 4}, index[0].search(List.of("Java"), EmployeeSkillIndex.Match.ANY, null));
+            assertArrayEquals(new long[]{}, index[0].search(List.of("Go"), EmployeeSkillIndex.Match.ANY, null));
+            assertArrayEquals(new long[]{2}, index[0].search(List.of("Rust"), EmployeeSkillIndex.Match.ANY, 10));
+            assertArrayEquals(new long[]{}, index[0].search(List.of("Java"), EmployeeSkillIndex.Match.ANY, 20));
+            assertArrayEquals(new long[]{4}, index[0].search(List.of("Java"), EmployeeSkillIndex.Match.ANY, 30));
+
+            // changes after the swap go straight to the new index, nothing is recorded for a replay any more
+            index[0].update(5, 10, List.of("Go"));
+            assertArrayEquals(new long[]{5}, index[0].search(List.of("Go"), EmployeeSkillIndex.Match.ANY, null));
+        }
+    }
+
+    private static List<EmployeeSkillIndex> bothModes() {
+        return List.of(new EmployeeSkillIndex(null, true), new EmployeeSkillIndex(null, false));
+    }
+
+    // one employee_skills row: id, emp_code, skill
+    private static ResultSet resultSet(Object[] row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> row[(Integer) args[0] - 1]);
+    }
+
+    // sorted distinct ids, lengths from empty to far longer than the others so both intersect paths run
+    private long[] randomIds() {
+        int size = random.nextInt(4) == 0 ? random.nextInt(2_000) : random.nextInt(50);
+        return random.longs(size, 0, 3_000).distinct().sorted().toArray();
+    }
+
+    private static TreeSet<Long> toSet(long[] ids) {
+        TreeSet<Long> set = new TreeSet<>();
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    private static long[] toArray(TreeSet<Long> set) {
+        return set.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ashfaq.examples.locks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator: {@code concurrency} virtual threads call the operation back to back until the
+ * duration is over or the operation count is used up. Latencies are recorded in microseconds into an HdrHistogram.
+ * The warm-up phase runs the same loop and is not recorded.
+ */
+public class LoadHarness {
+
+    public record Config(List<Integer> concurrency, Duration warmup, Duration duration, long operations) {
+
+        public Config {
+            if (duration.isZero() && operations <= 0) {
+                throw new IllegalArgumentException("Either a duration or an operation count is required");
+            }
+        }
+
+        /**
+         * -Dload.concurrency=1,4,16,64   virtual threads per run, one run per value
+         * -Dload.warmup-seconds=3
+         * -Dload.duration-seconds=10      duration based run
+         * -Dload.operations=0             count based run when > 0 (the duration is then only an upper bound)
+         */
+        public static Config fromSystemProperties() {
+            List<Integer> concurrency = Arrays.stream(System.getProperty("load.concurrency", "1,4,16,64").split(","))
+                    .map(String::trim)
+                    .map(Integer::parseInt)
+                    .toList();
+            return new Config(concurrency,
+                    Duration.ofSeconds(Long.getLong("load.warmup-seconds", 3)),
+                    Duration.ofSeconds(Long.getLong("load.duration-seconds", 10)),
+                    Long.getLong("load.operations", 0));
+        }
+    }
+
+    public record Result(String name, int concurrency, long operations, long failures, Duration elapsed,
+                         Histogram latencies) {
+
+        public double throughput() {
+            return operations / (elapsed.toNanos() / 1_000_000_000.0);
+        }
+
+        public static String header() {
+            return String.format("%-20s %6s %10s %8s %10s %9s %9s %9s %9s %9s",
+                    "strategy", "vt", "ops", "failed", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-20s %6d %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    name, concurrency, operations, failures, throughput(),
+                    millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / 1000.0);
+        }
+
+        public String toCsv() {
+            return String.format("%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    name, concurrency, operations, failures, throughput(),
+                    millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / 1000.0);
+        }
+
+        private double millis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    private record Outcome(long operations, long failures, Duration elapsed) {
+    }
+
+    public static Result run(String name, int concurrency, Config config, Callable<?> operation)
+            throws InterruptedException {
+        if (!config.warmup().isZero()) {
+            drive(concurrency, config.warmup(), 0, operation, null);
+        }
+        Recorder recorder = new Recorder(3);
+        Outcome outcome = drive(concurrency, config.duration(), config.operations(), operation, recorder);
+        return new Result(name, concurrency, outcome.operations(), outcome.failures(), outcome.elapsed(),
+                recorder.getIntervalHistogram());
+    }
+
+    private static Outcome drive(int concurrency, Duration duration, long operations, Callable<?> operation,
+                                 Recorder recorder) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = duration.isZero() ? Long.MAX_VALUE : start + duration.toNanos();
+        AtomicLong remaining = new AtomicLong(operations > 0 ? operations : Long.MAX_VALUE);
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+                        long t0 = System.nanoTime();
+                        try {
+                            operation.call();
+                            completed.increment();
+                        } catch (Exception e) {
+                            failed.increment();
+                        }
+                        if (recorder != null) {
+                            recorder.recordValue((System.nanoTime() - t0) / 1_000);
+                        }
+                    }
+                });
+            }
+        } // close() waits for all workers
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return new Outcome(completed.sum(), failed.sum(), Duration.ofNanos(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,153 @@
+package com.ashfaq.examples.locks;
+
+import com.ashfaq.examples.locks.OptimisticLocking.ProductOL;
+import com.ashfaq.examples.locks.OptimisticLocking.ProductOLService;
+import com.ashfaq.examples.locks.OptimisticLocking.ProductRepository;
+import com.ashfaq.examples.locks.PessimisticLocking.InventoryItem;
+import com.ashfaq.examples.locks.PessimisticLocking.InventoryRepository;
+import com.ashfaq.examples.locks.PessimisticLocking.InventoryService;
+import com.ashfaq.examples.locks.PessimisticLocking.InventorySlotRepository;
+import com.ashfaq.examples.locks.PessimisticLocking.PurchaseCoalescer;
+import com.ashfaq.examples.locks.PessimisticLocking.PurchaseStrategy;
+import com.ashfaq.examples.locks.PessimisticLocking.StripedInventoryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput / latency curves of the purchase paths, each strategy against each concurrency level.
+ * Runs against a throw-away Postgres container (the striped path needs SKIP LOCKED), so it needs Docker and is
+ * skipped unless -Dload.enabled=true:
+ *
+ * mvn test -Dtest=LockingStrategyLoadTest -Dload.enabled=true -Dload.concurrency=1,8,32,128 -Dload.duration-seconds=20
+ *
+ * Optional: -Dload.strategies=PESSIMISTIC,STRIPED  -Dload.pool-size=32  -Dload.slots=16  (see LoadHarness.Config)
+ * Results are printed and written to target/locking-load.csv.
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=${load.pool-size:32}")
+@Testcontainers
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+class LockingStrategyLoadTest {
+
+    private static final int STOCK = 1_000_000_000;
+    private static final long PESSIMISTIC_ITEM = 1001L;
+    private static final long CONDITIONAL_ITEM = 1002L;
+    private static final long STRIPED_ITEM = 1003L;
+    private static final long COALESCED_ITEM = 1004L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StripedInventoryService stripedService;
+
+    @Autowired
+    private PurchaseCoalescer coalescer;
+
+    @Autowired
+    private ProductOLService productService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventorySlotRepository slotRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long productId;
+
+    @Test
+    void lockingStrategyCurves() throws Exception {
+        LoadHarness.Config config = LoadHarness.Config.fromSystemProperties();
+        Map<String, Callable<?>> strategies = strategies();
+        List<LoadHarness.Result> results = new ArrayList<>();
+
+        System.out.println(LoadHarness.Result.header());
+        for (Map.Entry<String, Callable<?>> strategy : strategies.entrySet()) {
+            for (int concurrency : config.concurrency()) {
+                resetStock();
+                LoadHarness.Result result = LoadHarness.run(strategy.getKey(), concurrency, config, strategy.getValue());
+                System.out.println(result);
+                results.add(result);
+            }
+        }
+        writeCsv(results);
+
+        assertTrue(results.stream().allMatch(r -> r.operations() > 0), "every run completed at least one purchase");
+    }
+
+    private Map<String, Callable<?>> strategies() {
+        Map<String, Callable<?>> all = new LinkedHashMap<>();
+        all.put("PESSIMISTIC", () -> expectSuccess(inventoryService.purchaseItem(PESSIMISTIC_ITEM, PurchaseStrategy.PESSIMISTIC)));
+        all.put("CONDITIONAL_UPDATE", () -> expectSuccess(inventoryService.purchaseItem(CONDITIONAL_ITEM, PurchaseStrategy.CONDITIONAL_UPDATE)));
+        all.put("STRIPED", () -> expectSuccess(stripedService.purchaseItem(STRIPED_ITEM)));
+        all.put("COALESCED", () -> expectSuccess(coalescer.purchase(COALESCED_ITEM).get()));
+        // plain optimistic: version clashes show up as failed operations
+        all.put("OPTIMISTIC", () -> {
+            productService.updateStock(productId, -1);
+            return null;
+        });
+        all.put("OPTIMISTIC_RETRY", () -> {
+            productService.updateStockWithRetry(productId, -1);
+            return null;
+        });
+
+        String selected = System.getProperty("load.strategies");
+        if (selected != null) {
+            all.keySet().retainAll(Arrays.stream(selected.split(",")).map(String::trim).toList());
+        }
+        return all;
+    }
+
+    private void resetStock() {
+        inventoryRepository.save(new InventoryItem(PESSIMISTIC_ITEM, "load-pessimistic", STOCK));
+        inventoryRepository.save(new InventoryItem(CONDITIONAL_ITEM, "load-conditional", STOCK));
+        inventoryRepository.save(new InventoryItem(COALESCED_ITEM, "load-coalesced", STOCK));
+        // stripe() adds the item quantity to what is left in the slots, drop the old slots so every run starts at STOCK
+        slotRepository.deleteAllInBatch(slotRepository.findAll().stream()
+                .filter(slot -> STRIPED_ITEM == slot.getItemId())
+                .toList());
+        inventoryRepository.save(new InventoryItem(STRIPED_ITEM, "load-striped", STOCK));
+        stripedService.stripe(STRIPED_ITEM, Integer.getInteger("load.slots", 16));
+        productId = productRepository.save(new ProductOL(null, "load-product", STOCK, 0)).getId();
+    }
+
+    private static String expectSuccess(String result) {
+        if (!"Purchase successful".equals(result)) {
+            throw new IllegalStateException(result);
+        }
+        return result;
+    }
+
+    private static void writeCsv(List<LoadHarness.Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("strategy,concurrency,operations,failures,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        results.forEach(r -> lines.add(r.toCsv()));
+        Path csv = Path.of("target", "locking-load.csv");
+        Files.createDirectories(csv.getParent());
+        Files.write(csv, lines);
+    }
+}